@@ -134,8 +134,8 @@ public class AlphaBetaBot extends BotPlayer {
      */
     private int evaluateComplex(ReversiPlateau board) {
         // 1. Mobilité (capacité à jouer des coups)
-        int myMobility = board.getValidMoves(this.color).size();
-        int opMobility = board.getValidMoves(this.color.oppose()).size();
+        int myMobility = Long.bitCount(board.getValidMovesMask(this.color));
+        int opMobility = Long.bitCount(board.getValidMovesMask(this.color.oppose()));
         
         // 2. Contrôle des coins (positions stratégiques stables)
         int myCorners = countCorners(board, this.color);
@@ -1,32 +1,165 @@
 package reversi;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Classe représentant un bot Alpha-Beta optimisé utilisant une représentation bit à bit
  * du plateau pour des performances plus rapides.
+ * Deux modes de recherche : profondeur fixe, ou approfondissement itératif avec un budget
+ * de temps par coup (profondeur 1, 2, 3... jusqu'à épuisement du budget).
+ * La recherche peut être répartie sur plusieurs threads : Lazy SMP (voir {@link #withThreads(int)}),
+ * ou Young Brothers Wait sur un ForkJoinPool en profondeur fixe (voir {@link #withForkJoin(int, int)}).
  */
 public class AlphaBetaBotRapide extends BotPlayer {
+    /** Borne des scores : plus grande que toute évaluation, et dont l'opposé ne déborde pas. */
+    private static final int INFINITY = Integer.MAX_VALUE;
+
+    /** Nombre de noeuds entre deux lectures de l'horloge pendant une recherche limitée en temps. */
+    private static final int CLOCK_CHECK_INTERVAL = 1024;
+
+    /** Masque des coins, examinés avant les autres coups. */
+    private static final long CORNERS = 0x8100000000000081L;
+
+    /** Masque des cases X (diagonales des coins), examinées en dernier. */
+    private static final long X_SQUARES = 0x0042000000004200L;
+
+    /** Priorités de tri : coup de la table de transposition, coups killer, coins, cases X. */
+    private static final int TT_MOVE_SCORE = 1 << 30, KILLER_SCORE = 1 << 29, CORNER_SCORE = 1 << 28;
+
+    /** Au-delà de cette valeur, toute la table d'historique est divisée par deux. */
+    private static final int HISTORY_LIMIT = 1 << 20;
+
+    /** Demi-largeur initiale de la fenêtre d'aspiration à la racine (un tiers de coin environ). */
+    private static final int ASPIRATION_WINDOW = 32;
+
+    /** Nombre de cases vides à partir duquel, par défaut, la fin de partie est résolue exactement. */
+    private static final int DEFAULT_ENDGAME_EMPTIES = 16;
+
+    /** Seuil de ProbCut par défaut, en écarts-types (coupure erronée dans environ 7 % des cas). */
+    private static final double DEFAULT_PROBCUT_THRESHOLD = 1.5;
+
+    /** ProbCut ne s'applique qu'aux fenêtres dont les bornes restent loin des scores de fin de partie. */
+    private static final int PROBCUT_LIMIT = EndgameSolver.WIN_SCORE / 2;
+
+    /** Taille (Mo) de la table de transposition créée pour une recherche multi-thread qui n'en a pas. */
+    private static final int DEFAULT_TABLE_MB = 64;
+
+    /** Poids d'une case de mobilité potentielle (case vide voisine d'un pion adverse). */
+    private static final int POTENTIAL_MOBILITY_WEIGHT = 5;
+
+    /** Pénalité d'un pion de frontière (pion voisin d'une case vide). */
+    private static final int FRONTIER_WEIGHT = 5;
+
+    /** Facteur appliqué au score de bord de {@link EdgeTable} (1 par pion de bord, 3 s'il est stable). */
+    private static final int EDGE_TABLE_WEIGHT = 10;
+
     /** Profondeur maximale de recherche dans l'arbre des coups. */
     private int maxDepth;
-    
+
+    /** Budget de temps par coup en millisecondes (0 : recherche à profondeur fixe). */
+    private final long timeBudgetMillis;
+
+    /** Évaluateur par motifs, ou null pour utiliser les poids statiques de BitboardEvaluator. */
+    private final PatternEvaluator patternEvaluator;
+
+    /** Table de transposition (éventuellement partagée), ou null pour une recherche sans table. */
+    private TranspositionTable table;
+
+    /** Instant (System.nanoTime()) auquel la recherche en cours doit s'arrêter. */
+    private long deadline;
+
+    /** Vrai si le budget de temps est épuisé : la recherche en cours est alors abandonnée. */
+    private boolean timeUp;
+
+    /** Nombre de noeuds visités par la dernière recherche. */
+    private long nodes;
+
+    /** Profondeur de la dernière itération complète de la dernière recherche. */
+    private int completedDepth;
+
+    /** Tri des coups par coups killer, historique et priorités statiques (sinon ordre des cases). */
+    private boolean moveOrdering = true;
+
+    /** Principal Variation Search avec fenêtres d'aspiration (sinon alpha-beta à fenêtre complète). */
+    private boolean pvs = true;
+
+    /** Score du meilleur coup de la dernière recherche à la racine, du point de vue du bot. */
+    private int rootScore;
+
+    /** Deux coups killer par niveau : les derniers coups ayant provoqué une coupure à ce niveau. */
+    private final int[][] killers;
+
+    /** Table d'historique [couleur][case] : bonus des coups ayant provoqué des coupures. */
+    private final int[][] history = new int[2][64];
+
+    /** Coups de chaque niveau, triés par la recherche (aucune allocation pendant la recherche). */
+    private final int[][] moveLists;
+
+    /** Priorités de tri des coups de chaque niveau. */
+    private final int[][] moveScores;
+
+    /** Nombre de threads de recherche (1 : recherche sur le seul thread appelant). */
+    private int threads = 1;
+
     /**
-     * Tableau de poids statiques pour chaque case du plateau (8x8 = 64 cases).
-     * Les valeurs reflètent l'importance stratégique de chaque position :
-     * - Coins (100) : très avantageux
-     * - Cases près des coins (-20, -50) : dangereuses (peuvent donner un coin à l'adversaire)
-     * - Bordures (10, 5) : avantageuses
-     * - Centre (-1, -2) : moins stables
-     */
-    private static final int[] WEIGHTS = {
-         100, -20,  10,   5,   5,  10, -20, 100,
-         -20, -50,  -2,  -2,  -2,  -2, -50, -20,
-          10,  -2,  -1,  -1,  -1,  -1,  -2,  10,
-           5,  -2,  -1,  -1,  -1,  -1,  -2,   5,
-           5,  -2,  -1,  -1,  -1,  -1,  -2,   5,
-          10,  -2,  -1,  -1,  -1,  -1,  -2,  10,
-         -20, -50,  -2,  -2,  -2,  -2, -50, -20,
-         100, -20,  10,   5,   5,  10, -20, 100
-    };
+     * Rang de ce bot parmi les threads d'une recherche Lazy SMP : 0 pour le bot principal,
+     * 1 et plus pour les bots auxiliaires créés par celui-ci.
+     */
+    private int helperIndex;
 
+    /** Bots auxiliaires de la recherche Lazy SMP, créés à la première recherche multi-thread. */
+    private AlphaBetaBotRapide[] helpers;
+
+    /** Threads exécutant les bots auxiliaires. */
+    private ThreadPoolExecutor pool;
+
+    /** Demande d'arrêt envoyée par le bot principal à un bot auxiliaire. */
+    private volatile boolean stop;
+
+    /** Nombre de threads de la recherche Young Brothers Wait (0 : désactivée). */
+    private int forkJoinThreads;
+
+    /** Profondeur restante à partir de laquelle la recherche Young Brothers Wait parallélise un noeud. */
+    private int splitDepth;
+
+    /** Recherche Young Brothers Wait, créée à la première recherche qui l'utilise. */
+    private ForkJoinSearch forkJoin;
+
+    /** Threads de la recherche Young Brothers Wait, arrêtés avec elle. */
+    private ForkJoinPool forkJoinPool;
+
+    /** Nombre de cases vides en dessous duquel (inclus) le solveur exact remplace la recherche (0 : jamais). */
+    private int endgameEmpties = DEFAULT_ENDGAME_EMPTIES;
+
+    /** Mode du solveur de fin de partie : score exact (true) ou gain / nulle / perte (false). */
+    private boolean exactEndgame = true;
+
+    /** Solveur de fin de partie, créé à la première position résolue. */
+    private EndgameSolver endgameSolver;
+
+    /** Paramètres de Multi-ProbCut, ou null si l'élagage sélectif est désactivé. */
+    private ProbCutParameters probCut;
+
+    /** Seuil de ProbCut, en écarts-types de l'erreur de prédiction. */
+    private double probCutThreshold = DEFAULT_PROBCUT_THRESHOLD;
+
+    /** Nombre de coupures ProbCut de la dernière recherche. */
+    private long probCutCutoffs;
+
+    /** true pour ajouter la mobilité potentielle et les pions de frontière à l'évaluation. */
+    private boolean frontierFeatures;
+
+    /** true pour ajouter le score des quatre bords lu dans {@link EdgeTable} à l'évaluation. */
+    private boolean edgeTable;
+    
     /**
      * Constructeur du bot Alpha-Beta optimisé.
      *
@@ -34,145 +167,825 @@ public class AlphaBetaBotRapide extends BotPlayer {
      * @param depth Profondeur maximale de recherche pour l'algorithme Alpha-Beta.
      */
     public AlphaBetaBotRapide(Couleurcase color, int depth) {
+        this(color, depth, 0, null);
+    }
+
+    /**
+     * Constructeur du bot Alpha-Beta optimisé avec un évaluateur par motifs.
+     *
+     * @param color Couleur des pions du bot (Blanc ou Noir).
+     * @param depth Profondeur maximale de recherche pour l'algorithme Alpha-Beta.
+     * @param patternEvaluator Évaluateur par motifs remplaçant les poids statiques (null pour les poids statiques).
+     */
+    public AlphaBetaBotRapide(Couleurcase color, int depth, PatternEvaluator patternEvaluator) {
+        this(color, depth, 0, patternEvaluator);
+    }
+
+    /**
+     * Constructeur du bot Alpha-Beta optimisé en approfondissement itératif limité en temps.
+     *
+     * @param color Couleur des pions du bot (Blanc ou Noir).
+     * @param depth Profondeur maximale des itérations.
+     * @param timeBudgetMillis Budget de temps par coup en millisecondes (0 : profondeur fixe).
+     */
+    public AlphaBetaBotRapide(Couleurcase color, int depth, long timeBudgetMillis) {
+        this(color, depth, timeBudgetMillis, null);
+    }
+
+    /**
+     * Constructeur complet du bot Alpha-Beta optimisé.
+     *
+     * @param color Couleur des pions du bot (Blanc ou Noir).
+     * @param depth Profondeur maximale de recherche (ou des itérations si un budget de temps est donné).
+     * @param timeBudgetMillis Budget de temps par coup en millisecondes (0 : profondeur fixe).
+     * @param patternEvaluator Évaluateur par motifs remplaçant les poids statiques (null pour les poids statiques).
+     */
+    public AlphaBetaBotRapide(Couleurcase color, int depth, long timeBudgetMillis, PatternEvaluator patternEvaluator) {
         super(color);
         this.maxDepth = depth;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.patternEvaluator = patternEvaluator;
+        int plies = Math.max(1, depth) + 1;
+        this.killers = new int[plies][2];
+        this.moveLists = new int[plies][64];
+        this.moveScores = new int[plies][64];
+    }
+
+    /**
+     * Active ou désactive le tri des coups (coups killer, historique, coins en premier et cases X
+     * en dernier). Sans tri, seuls le coup de la table de transposition et le meilleur coup
+     * de l'itération précédente passent en premier ; les autres suivent l'ordre des cases.
+     *
+     * @param enabled true pour trier les coups.
+     * @return Ce bot, pour chaîner la configuration après le constructeur.
+     */
+    public AlphaBetaBotRapide withMoveOrdering(boolean enabled) {
+        this.moveOrdering = enabled;
+        discardHelpers();
+        discardForkJoin();
+        return this;
+    }
+
+    /**
+     * Associe une table de transposition au bot. La même table peut être partagée
+     * par plusieurs recherches, y compris sur plusieurs threads.
+     *
+     * @param table La table de transposition, ou null pour la désactiver.
+     * @return Ce bot, pour chaîner la configuration après le constructeur.
+     */
+    public AlphaBetaBotRapide withTranspositionTable(TranspositionTable table) {
+        this.table = table;
+        discardHelpers();
+        discardForkJoin();
+        return this;
+    }
+
+    /**
+     * Répartit la recherche sur plusieurs threads selon le schéma Lazy SMP : chaque thread
+     * auxiliaire lance sa propre recherche par approfondissement itératif depuis la racine,
+     * avec un ordre des coups et des profondeurs légèrement différents, et tous partagent
+     * la même table de transposition (créée si le bot n'en a pas). Le thread appelant
+     * renvoie le résultat complet le plus profond ; à profondeur fixe, c'est toujours le sien.
+     *
+     * @param threads Nombre de threads (1 pour une recherche mono-thread).
+     * @return Ce bot, pour chaîner la configuration après le constructeur.
+     */
+    public AlphaBetaBotRapide withThreads(int threads) {
+        this.threads = Math.max(1, threads);
+        discardHelpers();
+        return this;
+    }
+
+    /**
+     * En mode profondeur fixe, remplace la recherche séquentielle par la recherche parallèle
+     * Young Brothers Wait de {@link ForkJoinSearch} : à chaque noeud d'au moins {@code splitDepth}
+     * niveaux restants, le premier coup est cherché seul puis les autres en parallèle.
+     * Les réglages PVS et tri des coups du bot s'y appliquent ; ProbCut, les coups killer
+     * et l'historique non. Sans effet en mode limité en temps.
+     *
+     * @param threads Nombre de threads du ForkJoinPool (0 pour désactiver).
+     * @param splitDepth Profondeur restante minimale d'un noeud parallélisé.
+     * @return Ce bot, pour chaîner la configuration après le constructeur.
+     */
+    public AlphaBetaBotRapide withForkJoin(int threads, int splitDepth) {
+        this.forkJoinThreads = Math.max(0, threads);
+        this.splitDepth = splitDepth;
+        discardForkJoin();
+        return this;
+    }
+
+    /**
+     * Règle la résolution exacte des fins de partie : à partir de {@code empties} cases vides,
+     * le bot ne cherche plus avec son évaluation heuristique mais joue le coup parfait donné
+     * par {@link EndgameSolver}, quel que soit son mode de recherche. En mode limité en temps,
+     * la résolution ne dispose que de la moitié du budget : si elle n'aboutit pas, le coup
+     * est choisi par la recherche heuristique dans le temps restant.
+     *
+     * @param empties Nombre maximal de cases vides d'une position résolue (0 pour désactiver).
+     * @param exact true pour maximiser la différence de pions, false pour seulement gagner (plus rapide).
+     * @return Ce bot, pour chaîner la configuration après le constructeur.
+     */
+    public AlphaBetaBotRapide withEndgameSolver(int empties, boolean exact) {
+        this.endgameEmpties = Math.max(0, empties);
+        this.exactEndgame = exact;
+        return this;
+    }
+
+    /**
+     * Active l'élagage sélectif Multi-ProbCut : aux noeuds de profondeur d pour lesquels des
+     * paramètres sont connus (selon la phase de jeu), une recherche courte à fenêtre nulle prédit
+     * par régression linéaire si la recherche complète sortirait de la fenêtre ; si oui avec une
+     * marge d'au moins {@code threshold} écarts-types, le noeud est coupé sans recherche complète.
+     *
+     * @param parameters Paramètres ajustés par {@link ProbCutFitter}, ou null pour désactiver ProbCut.
+     * @param threshold Seuil de coupure en écarts-types (plus il est grand, plus l'élagage est prudent).
+     * @return Ce bot, pour chaîner la configuration après le constructeur.
+     */
+    public AlphaBetaBotRapide withProbCut(ProbCutParameters parameters, double threshold) {
+        this.probCut = parameters;
+        this.probCutThreshold = threshold;
+        discardHelpers();
+        return this;
+    }
+
+    /**
+     * Active l'élagage sélectif Multi-ProbCut avec le seuil par défaut (1,5 écart-type).
+     *
+     * @param parameters Paramètres ajustés par {@link ProbCutFitter}, ou null pour désactiver ProbCut.
+     * @return Ce bot, pour chaîner la configuration après le constructeur.
+     */
+    public AlphaBetaBotRapide withProbCut(ProbCutParameters parameters) {
+        return withProbCut(parameters, DEFAULT_PROBCUT_THRESHOLD);
+    }
+
+    /**
+     * Retourne le nombre de noeuds coupés par ProbCut pendant la dernière recherche
+     * (thread appelant seulement en recherche multi-thread).
+     *
+     * @return Le nombre de coupures ProbCut.
+     */
+    public long getProbCutCutoffs() {
+        return probCutCutoffs;
+    }
+
+    /**
+     * Retourne le solveur de fin de partie (noeuds et durée de la dernière résolution).
+     *
+     * @return Le solveur, ou null si aucune position n'a encore été résolue.
+     */
+    public EndgameSolver getEndgameSolver() {
+        return endgameSolver;
+    }
+
+    /**
+     * Active ou désactive la Principal Variation Search (fenêtres nulles hors variation principale)
+     * et les fenêtres d'aspiration à la racine. Désactivée, la recherche est un alpha-beta
+     * classique à fenêtre complète depuis la racine.
+     *
+     * @param enabled true pour utiliser PVS.
+     * @return Ce bot, pour chaîner la configuration après le constructeur.
+     */
+    public AlphaBetaBotRapide withPvs(boolean enabled) {
+        this.pvs = enabled;
+        discardHelpers();
+        discardForkJoin();
+        return this;
+    }
+
+    /**
+     * Ajoute à l'évaluation la mobilité potentielle (cases vides voisines des pions adverses)
+     * et les pions de frontière (pions voisins d'une case vide, pénalisés) des deux joueurs,
+     * calculés par {@link FastReversiBoard#potentialMobility(long, long)} et
+     * {@link FastReversiBoard#frontierDiscs(long, long)}. Les paramètres de ProbCut, ajustés
+     * sur l'évaluation de base, devraient être réajustés avec cette option.
+     *
+     * @param enabled true pour utiliser ces termes.
+     * @return Ce bot, pour chaîner la configuration après le constructeur.
+     */
+    public AlphaBetaBotRapide withFrontierFeatures(boolean enabled) {
+        this.frontierFeatures = enabled;
+        discardHelpers();
+        return this;
+    }
+
+    /**
+     * Ajoute à l'évaluation le score des quatre bords donné par {@link EdgeTable#score(long, long)}
+     * (quatre lectures de table), qui valorise les pions de bord définitivement stables.
+     * Comme pour {@link #withFrontierFeatures(boolean)}, ProbCut devrait être réajusté.
+     *
+     * @param enabled true pour utiliser ce terme.
+     * @return Ce bot, pour chaîner la configuration après le constructeur.
+     */
+    public AlphaBetaBotRapide withEdgeTable(boolean enabled) {
+        this.edgeTable = enabled;
+        discardHelpers();
+        return this;
+    }
+
+    /**
+     * Retourne la table de transposition du bot (statistiques de consultation comprises).
+     *
+     * @return La table, ou null si le bot n'en utilise pas.
+     */
+    public TranspositionTable getTranspositionTable() {
+        return table;
+    }
+
+    /**
+     * Retourne le nombre de noeuds visités par la dernière recherche (tous threads confondus).
+     *
+     * @return Le nombre de noeuds.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Retourne le score du coup choisi par la dernière recherche, du point de vue du bot.
+     *
+     * @return Le score de la dernière itération complète, ou la différence de pions finale
+     *         si la position a été résolue par le solveur de fin de partie.
+     */
+    public int getScore() {
+        return rootScore;
+    }
+
+    /**
+     * Facteur de branchement effectif de la dernière recherche : la racine d-ième du nombre
+     * de noeuds, d étant la profondeur atteinte. Plus il est petit, plus l'élagage est efficace.
+     *
+     * @return Le facteur de branchement effectif (0 si aucune recherche n'a eu lieu).
+     */
+    public double getEffectiveBranchingFactor() {
+        if (completedDepth <= 0 || nodes <= 0) return 0.0;
+        return Math.pow(nodes, 1.0 / completedDepth);
+    }
+
+    /**
+     * Retourne la profondeur atteinte par la dernière recherche : la dernière itération complète
+     * en mode limité en temps, la profondeur fixe sinon.
+     *
+     * @return La profondeur de recherche du coup retourné.
+     */
+    public int getCompletedDepth() {
+        return completedDepth;
     }
 
     /**
      * Méthode principale pour obtenir le meilleur coup calculé par le bot.
-     * Utilise une représentation bit à bit du plateau (FastReversiBoard) pour
-     * des opérations plus rapides.
+     * Utilise une représentation bit à bit du plateau normalisée selon le trait
+     * (SideToMoveBoard) : la recherche est un negamax sans test de couleur.
      *
      * @param board L'état actuel du plateau de jeu (ReversiPlateau).
      * @return Le meilleur coup trouvé, ou null si aucun coup n'est possible.
      */
     public Move getMove(ReversiPlateau board) {
-        // Convertit le plateau classique en représentation optimisée bit à bit
-        FastReversiBoard fastBoard = new FastReversiBoard(board);
-        boolean isBlack = (this.color == Couleurcase.NOIR);
+        long start = System.nanoTime();
+        // Convertit le plateau classique en représentation bit à bit, du point de vue du bot
+        SideToMoveBoard fastBoard = new SideToMoveBoard(board, this.color);
+        if (patternEvaluator != null) fastBoard.attachPatterns(); // Indices tenus à jour par makeMove/undoMove
         
         // Récupère les coups valides sous forme de masque binaire (64 bits)
-        long validMoves = fastBoard.getValidMovesBitmask(isBlack);
+        long validMoves = fastBoard.getValidMoves();
         if (validMoves == 0) return null; // Aucun coup possible
 
-        long bestMove = 0; // Masque binaire du meilleur coup
-        int maxEval = Integer.MIN_VALUE;
-        int alpha = Integer.MIN_VALUE;
-        int beta = Integer.MAX_VALUE;
-
-        // Parcourt tous les bits à 1 dans le masque des coups valides
-        for (int i = 0; i < 64; i++) {
-            long mask = 1L << i; // Crée un masque pour la case i
-            if ((validMoves & mask) != 0) { // Si le coup est valide
-                FastReversiBoard clone = fastBoard.copy();
-                clone.makeMove(i / 8, i % 8, isBlack); // Effectue le coup sur le clone
-                
-                // Évalue le coup avec l'algorithme Alpha-Beta
-                int eval = alphaBeta(clone, maxDepth - 1, alpha, beta, !isBlack);
-                
-                // Met à jour le meilleur coup si nécessaire
-                if (eval > maxEval) {
-                    maxEval = eval;
-                    bestMove = mask;
+        // Fin de partie : résolution exacte plutôt qu'heuristique. Avec un budget de temps, la résolution
+        // dispose de la moitié du budget ; si elle ne termine pas, la recherche limitée en temps prend le relais
+        int empties = fastBoard.getEmptyCount();
+        if (empties <= endgameEmpties) {
+            if (endgameSolver == null) endgameSolver = new EndgameSolver();
+            long solveDeadline = (timeBudgetMillis > 0) ? start + timeBudgetMillis * 500_000L : Long.MAX_VALUE;
+            int score = endgameSolver.solve(fastBoard.player, fastBoard.opponent, exactEndgame, solveDeadline);
+            if (!endgameSolver.isAborted()) {
+                rootScore = score;
+                nodes = endgameSolver.getNodes();
+                completedDepth = empties;
+                return Move.of(endgameSolver.getBestMove());
+            }
+        }
+
+        if (forkJoinThreads > 0 && timeBudgetMillis <= 0) {
+            if (forkJoin == null) {
+                forkJoinPool = new ForkJoinPool(forkJoinThreads);
+                forkJoin = new ForkJoinSearch(forkJoinPool, splitDepth, this::evaluate, table)
+                        .withPvs(pvs).withMoveOrdering(moveOrdering);
+            }
+            int move = forkJoin.search(fastBoard, maxDepth);
+            nodes = forkJoin.getNodes();
+            rootScore = forkJoin.getScore();
+            completedDepth = maxDepth;
+            return Move.of(move);
+        }
+
+        long deadline = (timeBudgetMillis > 0) ? start + timeBudgetMillis * 1_000_000L : Long.MAX_VALUE;
+        if (threads > 1) return Move.of(lazySmp(fastBoard, validMoves, deadline));
+        if (table != null) table.newSearch();
+        return Move.of(search(fastBoard, validMoves, deadline));
+    }
+
+    /**
+     * Recherche du meilleur coup sur le thread courant.
+     * Le bot principal cherche à profondeur fixe, ou par approfondissement itératif s'il a un budget
+     * de temps. Les bots auxiliaires (Lazy SMP) procèdent toujours par approfondissement itératif
+     * jusqu'à leur profondeur maximale ou jusqu'à leur arrêt par le bot principal.
+     *
+     * @param fastBoard Le plateau normalisé, du point de vue du bot.
+     * @param validMoves Masque des coups valides du bot (non vide).
+     * @param deadline Instant (System.nanoTime()) d'arrêt de la recherche.
+     * @return L'index du meilleur coup.
+     */
+    private int search(SideToMoveBoard fastBoard, long validMoves, long deadline) {
+        this.deadline = deadline;
+        nodes = 0;
+        probCutCutoffs = 0;
+        timeUp = false;
+        for (int[] killer : killers) Arrays.fill(killer, TranspositionTable.NO_MOVE);
+        ageHistory();
+        if (timeBudgetMillis <= 0 && helperIndex == 0) {
+            completedDepth = maxDepth;
+            if (!pvs || maxDepth <= 2) return searchRoot(fastBoard, validMoves, maxDepth, -1, -INFINITY, INFINITY);
+
+            // Une recherche courte de même parité (profondeur 2, ou 1 si maxDepth est impair) fournit
+            // le coup de tête et le centre de la fenêtre d'aspiration, pour un coût négligeable
+            int guessMove = searchRoot(fastBoard, validMoves, 2 - (maxDepth & 1), -1, -INFINITY, INFINITY);
+            return aspirationSearch(fastBoard, validMoves, maxDepth, guessMove, rootScore);
+        }
+
+        // Approfondissement itératif : chaque itération commence par le meilleur coup de la précédente.
+        // Chaque bot auxiliaire commence par un coup différent, et un sur deux saute la profondeur 1.
+        int bestMove = Long.numberOfTrailingZeros(validMoves);
+        for (int k = helperIndex % Long.bitCount(validMoves); k > 0; k--) {
+            bestMove = Long.numberOfTrailingZeros(validMoves & (-1L << (bestMove + 1)));
+        }
+        completedDepth = 0;
+        int lastDepth = Math.min(maxDepth, fastBoard.getEmptyCount());
+        int[] scores = new int[lastDepth + 1];
+        for (int depth = 1 + (helperIndex & 1); depth <= lastDepth; depth++) {
+            int move = (pvs && depth > 2)
+                    ? aspirationSearch(fastBoard, validMoves, depth, bestMove, scores[depth - 2])
+                    : searchRoot(fastBoard, validMoves, depth, bestMove, -INFINITY, INFINITY);
+            if (timeUp) break; // Itération incomplète : son résultat est ignoré
+            bestMove = move;
+            scores[depth] = rootScore;
+            completedDepth = depth;
+        }
+        rootScore = scores[completedDepth];
+        return bestMove;
+    }
+
+    /**
+     * Recherche Lazy SMP : les bots auxiliaires cherchent sur les threads du pool pendant que
+     * le bot principal cherche sur le thread appelant ; ils communiquent uniquement par la table
+     * de transposition partagée. Quand le bot principal a terminé, les auxiliaires sont arrêtés
+     * et le résultat complet le plus profond est retenu (celui du bot principal en cas d'égalité).
+     *
+     * @param fastBoard Le plateau normalisé, du point de vue du bot.
+     * @param validMoves Masque des coups valides du bot (non vide).
+     * @param deadline Instant (System.nanoTime()) d'arrêt de la recherche.
+     * @return L'index du meilleur coup.
+     */
+    private int lazySmp(SideToMoveBoard fastBoard, long validMoves, long deadline) {
+        if (table == null) table = new TranspositionTable(DEFAULT_TABLE_MB);
+        if (helpers == null) createHelpers();
+        table.newSearch();
+
+        List<Future<Integer>> results = new ArrayList<>();
+        for (AlphaBetaBotRapide helper : helpers) {
+            helper.stop = false;
+            SideToMoveBoard helperBoard = fastBoard.copy();
+            results.add(pool.submit(() -> helper.search(helperBoard, validMoves, deadline)));
+        }
+
+        int bestMove = search(fastBoard, validMoves, deadline);
+        int bestDepth = completedDepth;
+        int bestScore = rootScore;
+        long totalNodes = nodes;
+        for (AlphaBetaBotRapide helper : helpers) helper.stop = true;
+        try {
+            for (int k = 0; k < helpers.length; k++) {
+                int move = results.get(k).get();
+                AlphaBetaBotRapide helper = helpers[k];
+                totalNodes += helper.nodes;
+                if (helper.completedDepth > bestDepth) {
+                    bestMove = move;
+                    bestDepth = helper.completedDepth;
+                    bestScore = helper.rootScore;
                 }
-                alpha = Math.max(alpha, eval); // Met à jour alpha
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Erreur dans un thread de recherche", e.getCause());
+        }
+        nodes = totalNodes;
+        completedDepth = bestDepth;
+        rootScore = bestScore;
+        return bestMove;
+    }
+
+    /**
+     * Libère les threads des recherches Lazy SMP et Young Brothers Wait. Les bots auxiliaires,
+     * la recherche parallèle et leurs pools seront recréés à la prochaine recherche si nécessaire.
+     */
+    @Override
+    public void dispose() {
+        discardHelpers();
+        discardForkJoin();
+    }
+
+    /**
+     * Arrête le pool des bots auxiliaires (après la fin de leurs tâches en cours) et les oublie,
+     * pour qu'un changement de configuration ou l'abandon du bot ne laisse pas de threads derrière lui.
+     */
+    private void discardHelpers() {
+        if (pool != null) pool.shutdown();
+        pool = null;
+        helpers = null;
+    }
+
+    /**
+     * Arrête le pool de la recherche Young Brothers Wait et l'oublie avec elle ; elle sera
+     * recréée avec la configuration courante à la prochaine recherche qui l'utilise.
+     */
+    private void discardForkJoin() {
+        if (forkJoinPool != null) forkJoinPool.shutdown();
+        forkJoinPool = null;
+        forkJoin = null;
+    }
+
+    /**
+     * Crée les bots auxiliaires de la recherche Lazy SMP (même configuration, même table)
+     * et le pool de threads qui les exécute. Les threads sont des démons qui s'arrêtent
+     * d'eux-mêmes après 30 secondes d'inactivité, ou dès l'appel de {@link #dispose()}.
+     */
+    private void createHelpers() {
+        helpers = new AlphaBetaBotRapide[threads - 1];
+        for (int k = 0; k < helpers.length; k++) {
+            int index = k + 1;
+            // En mode limité en temps, un auxiliaire sur deux va un niveau plus loin que le bot principal ;
+            // à profondeur fixe, aucun ne le dépasse : le résultat est celui du bot principal
+            int helperDepth = maxDepth + ((timeBudgetMillis > 0) ? (index & 1) : 0);
+            AlphaBetaBotRapide helper = new AlphaBetaBotRapide(color, helperDepth, timeBudgetMillis, patternEvaluator);
+            helper.table = table;
+            helper.moveOrdering = moveOrdering;
+            helper.pvs = pvs;
+            helper.frontierFeatures = frontierFeatures;
+            helper.edgeTable = edgeTable;
+            helper.probCut = probCut;
+            helper.probCutThreshold = probCutThreshold;
+            helper.helperIndex = index;
+            helpers[k] = helper;
+        }
+        pool = new ThreadPoolExecutor(helpers.length, helpers.length, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), task -> {
+                    Thread thread = new Thread(task, "AlphaBetaBotRapide-helper");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Recherche à la racine avec une fenêtre d'aspiration centrée sur un score estimé.
+     * Si le score sort de la fenêtre, la borne dépassée est élargie (d'un facteur 4 à chaque échec)
+     * et la recherche est relancée, jusqu'à une fenêtre infinie : le résultat est donc exact.
+     *
+     * @param board Le plateau normalisé, du point de vue du bot.
+     * @param validMoves Masque des coups valides du bot (non vide).
+     * @param depth Profondeur de recherche.
+     * @param firstMove Coup à examiner en premier, ou -1.
+     * @param guess Score estimé (résultat d'une recherche moins profonde).
+     * @return L'index du meilleur coup.
+     */
+    private int aspirationSearch(SideToMoveBoard board, long validMoves, int depth, int firstMove, int guess) {
+        long delta = ASPIRATION_WINDOW;
+        int alpha = (int) Math.max(-INFINITY, guess - delta);
+        int beta = (int) Math.min(INFINITY, guess + delta);
+        while (true) {
+            int move = searchRoot(board, validMoves, depth, firstMove, alpha, beta);
+            if (timeUp) return move;
+            delta *= 4;
+            if (rootScore <= alpha && alpha > -INFINITY) {
+                alpha = (int) Math.max(-INFINITY, guess - delta); // Échec bas : tous les coups sont sous alpha
+            } else if (rootScore >= beta && beta < INFINITY) {
+                beta = (int) Math.min(INFINITY, guess + delta); // Échec haut : ce coup dépasse beta
+                firstMove = move;
+            } else {
+                return move;
             }
         }
+    }
 
-        // Convertit le masque binaire en objet Move (coordonnées ligne/colonne)
-        int index = Long.numberOfTrailingZeros(bestMove);
-        return new Move(index / 8, index % 8);
+    /**
+     * Recherche à la racine pour une profondeur et une fenêtre données.
+     * En mode PVS, le premier coup est cherché avec la fenêtre complète et les suivants avec
+     * une fenêtre nulle, relancée avec la fenêtre complète si le coup se révèle meilleur.
+     * Le score du meilleur coup est placé dans {@link #rootScore}.
+     *
+     * @param board Le plateau normalisé, du point de vue du bot.
+     * @param validMoves Masque des coups valides du bot (non vide).
+     * @param depth Profondeur de recherche.
+     * @param firstMove Coup à examiner en premier (meilleur coup de l'itération précédente), ou -1.
+     * @param alpha Borne inférieure de la fenêtre.
+     * @param beta Borne supérieure de la fenêtre.
+     * @return L'index du meilleur coup (sans signification si la recherche a été interrompue).
+     */
+    private int searchRoot(SideToMoveBoard board, long validMoves, int depth, int firstMove, int alpha, int beta) {
+        int bestMove = -1; // Index du meilleur coup
+        int bestEval = -INFINITY;
+
+        // Le coup prioritaire est examiné en premier, puis les autres dans l'ordre des cases
+        long remaining = validMoves;
+        int square = (firstMove >= 0) ? firstMove : Long.numberOfTrailingZeros(remaining);
+        while (remaining != 0) {
+            remaining &= ~(1L << square);
+            long flipped = board.makeMove(square); // Effectue le coup sur place
+            
+            // Le score de l'adversaire est l'opposé du nôtre
+            int eval;
+            if (!pvs || bestMove < 0) {
+                eval = -negamax(board, depth - 1, 1, -beta, -alpha);
+            } else {
+                eval = -negamax(board, depth - 1, 1, -alpha - 1, -alpha);
+                if (eval > alpha && eval < beta) eval = -negamax(board, depth - 1, 1, -beta, -alpha);
+            }
+            board.undoMove(square, flipped); // Restaure la position
+            if (timeUp) break;
+            
+            // Met à jour le meilleur coup si nécessaire
+            if (eval > bestEval || bestMove < 0) {
+                bestEval = eval;
+                bestMove = square;
+            }
+            alpha = Math.max(alpha, eval);
+            if (alpha >= beta) break; // Échec haut de la fenêtre d'aspiration
+            square = Long.numberOfTrailingZeros(remaining);
+        }
+
+        rootScore = bestEval;
+        return bestMove;
     }
 
     /**
-     * Implémentation récursive de l'algorithme Alpha-Beta pour FastReversiBoard.
-     * Utilise des masques binaires pour représenter les coups.
+     * Implémentation récursive de l'algorithme Alpha-Beta sous forme negamax.
+     * Le score est toujours donné du point de vue du joueur qui a le trait : le score d'un fils
+     * est l'opposé du score de l'adversaire, et la fenêtre (alpha, beta) devient (-beta, -alpha).
+     * Les coups sont joués puis annulés sur place (makeMove/undoMove) : aucun plateau
+     * n'est créé pendant la recherche.
      *
-     * @param board Le plateau optimisé à évaluer.
+     * @param board Le plateau normalisé à évaluer.
      * @param depth Profondeur restante.
-     * @param alpha Valeur alpha (meilleure option pour le maximisant).
-     * @param beta  Valeur beta (meilleure option pour le minimisant).
-     * @param maxPlayer True si c'est le tour du joueur maximisant, false sinon.
-     * @return La valeur heuristique du noeud évalué.
+     * @param ply Distance à la racine (indice des coups killer et des listes de coups).
+     * @param alpha Borne inférieure de la fenêtre de recherche.
+     * @param beta  Borne supérieure de la fenêtre de recherche.
+     * @return La valeur heuristique du noeud du point de vue du joueur qui a le trait.
      */
-    private int alphaBeta(FastReversiBoard board, int depth, int alpha, int beta, boolean maxPlayer) {
+    private int negamax(SideToMoveBoard board, int depth, int ply, int alpha, int beta) {
+        // Budget de temps ou arrêt demandé : vérifiés tous les CLOCK_CHECK_INTERVAL noeuds seulement
+        if ((++nodes & (CLOCK_CHECK_INTERVAL - 1)) == 0 && (stop || System.nanoTime() > deadline)) timeUp = true;
+        if (timeUp) return 0; // Résultat ignoré par la racine
+
         // Condition d'arrêt : profondeur nulle atteinte
         if (depth == 0) return evaluate(board);
 
-        // Détermine quel joueur doit jouer (basé sur maxPlayer et la couleur du bot)
-        boolean isCurrentPlayerBlack = (this.color == Couleurcase.NOIR) ? maxPlayer : !maxPlayer;
-        long moves = board.getValidMovesBitmask(isCurrentPlayerBlack);
+        long moves = board.getValidMoves();
         
         // Vérifie si le joueur courant a des coups possibles
         if (moves == 0) {
             // Vérifie si l'adversaire peut également jouer
-            boolean isOpponentBlack = !isCurrentPlayerBlack;
-            if (board.getValidMovesBitmask(isOpponentBlack) == 0) {
+            if (board.getOpponentValidMoves() == 0) {
                 // Aucun joueur ne peut jouer : fin de partie
-                return evaluate(board) * 10; // Bonus pour les états finaux
+                return EndgameSolver.terminalScore(board.player, board.opponent); // Résultat exact de la partie
             }
             // Passe le tour au joueur suivant
-            return alphaBeta(board, depth - 1, alpha, beta, !maxPlayer);
-        }
-
-        // Phase de maximisation (tour du joueur courant)
-        if (maxPlayer) {
-            int maxEval = Integer.MIN_VALUE;
-            for (int i = 0; i < 64; i++) {
-                if ((moves & (1L << i)) != 0) { // Si le coup i est valide
-                    FastReversiBoard clone = board.copy();
-                    clone.makeMove(i / 8, i % 8, this.color == Couleurcase.NOIR);
-                    int eval = alphaBeta(clone, depth - 1, alpha, beta, false);
-                    maxEval = Math.max(maxEval, eval);
-                    alpha = Math.max(alpha, eval);
-                    if (beta <= alpha) break; // Élagage alpha
+            board.pass();
+            int eval = -negamax(board, depth - 1, ply + 1, -beta, -alpha);
+            board.pass();
+            return eval;
+        }
+
+        // Table de transposition : coupure immédiate si une recherche au moins aussi profonde
+        // de cette position suffit, sinon son meilleur coup est examiné en premier
+        int alphaOrig = alpha;
+        long hash = 0L;
+        int firstMove = TranspositionTable.NO_MOVE;
+        if (table != null) {
+            hash = board.getHash();
+            long entry = table.probe(hash);
+            if (entry != 0) {
+                firstMove = TranspositionTable.move(entry);
+                if (TranspositionTable.depth(entry) >= depth) {
+                    int score = TranspositionTable.score(entry);
+                    int bound = TranspositionTable.bound(entry);
+                    if (bound == TranspositionTable.EXACT
+                            || (bound == TranspositionTable.LOWER && score >= beta)
+                            || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                        table.countCutoff();
+                        return score;
+                    }
                 }
             }
-            return maxEval;
-        } 
-        // Phase de minimisation (tour de l'adversaire)
-        else {
-            int minEval = Integer.MAX_VALUE;
-            for (int i = 0; i < 64; i++) {
-                if ((moves & (1L << i)) != 0) { // Si le coup i est valide
-                    FastReversiBoard clone = board.copy();
-                    clone.makeMove(i / 8, i % 8, this.color != Couleurcase.NOIR);
-                    int eval = alphaBeta(clone, depth - 1, alpha, beta, true);
-                    minEval = Math.min(minEval, eval);
-                    beta = Math.min(beta, eval);
-                    if (beta <= alpha) break; // Élagage beta
-                }
+        }
+
+        // Multi-ProbCut : une recherche courte à fenêtre nulle prédit que ce noeud sortira de la fenêtre
+        if (probCut != null && beta < PROBCUT_LIMIT && alpha > -PROBCUT_LIMIT) {
+            int phase = ProbCutParameters.phase(64 - board.getEmptyCount());
+            if (probCut.has(phase, depth)) {
+                int cut = probCut(board, depth, ply, alpha, beta, phase);
+                if (cut != 0) return (cut > 0) ? beta : alpha;
+            }
+        }
+
+        // Liste des coups avec leur priorité de tri
+        int side = board.isBlackToMove() ? 0 : 1;
+        int[] list = moveLists[ply];
+        int[] scores = moveScores[ply];
+        int count = 0;
+        for (; moves != 0; moves &= moves - 1) {
+            int square = Long.numberOfTrailingZeros(moves);
+            list[count] = square;
+            scores[count] = moveScore(square, ply, side, firstMove);
+            count++;
+        }
+
+        int bestEval = -INFINITY;
+        int bestMove = TranspositionTable.NO_MOVE;
+        for (int i = 0; i < count; i++) {
+            // Tri par sélection : le coup restant de plus haute priorité passe en position i
+            int best = i;
+            for (int j = i + 1; j < count; j++) {
+                if (scores[j] > scores[best]) best = j;
+            }
+            int square = list[best];
+            list[best] = list[i];
+            scores[best] = scores[i];
+            list[i] = square;
+
+            // PVS : seul le premier coup (supposé le meilleur) reçoit la fenêtre complète ;
+            // les autres sont réfutés par une fenêtre nulle, et recherchés à nouveau s'ils la dépassent
+            long flipped = board.makeMove(square);
+            int eval;
+            if (!pvs || i == 0) {
+                eval = -negamax(board, depth - 1, ply + 1, -beta, -alpha);
+            } else {
+                eval = -negamax(board, depth - 1, ply + 1, -alpha - 1, -alpha);
+                if (eval > alpha && eval < beta) eval = -negamax(board, depth - 1, ply + 1, -beta, -alpha);
+            }
+            board.undoMove(square, flipped);
+            if (eval > bestEval) {
+                bestEval = eval;
+                bestMove = square;
+            }
+            alpha = Math.max(alpha, eval);
+            if (beta <= alpha) { // Élagage
+                if (!timeUp) recordCutoff(square, depth, ply, side);
+                break;
             }
-            return minEval;
         }
+
+        // Un résultat interrompu par le budget de temps n'est pas fiable : il n'est pas enregistré
+        if (table != null && !timeUp) {
+            int bound = (bestEval <= alphaOrig) ? TranspositionTable.UPPER
+                    : (bestEval >= beta) ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+            table.store(hash, depth, bound, bestEval, bestMove);
+        }
+        return bestEval;
     }
 
     /**
-     * Fonction d'évaluation heuristique pour FastReversiBoard.
-     * Combine l'évaluation positionnelle (poids des cases) et la mobilité.
+     * Test ProbCut d'un noeud. La recherche de profondeur d devrait valoir a * v' + b, v' étant
+     * le score de la recherche courte, à une erreur d'écart-type sigma près. Le noeud est coupé
+     * si v' dépasse la borne qui place cette prédiction à t écarts-types au-dessus de beta
+     * (ou au-dessous d'alpha) ; une recherche courte à fenêtre nulle sur cette borne suffit.
      *
-     * @param board Le plateau optimisé à évaluer.
-     * @return Un score entier représentant l'avantage du bot.
+     * @param board Le plateau normalisé.
+     * @param depth Profondeur restante du noeud.
+     * @param ply Distance à la racine.
+     * @param alpha Borne inférieure de la fenêtre.
+     * @param beta Borne supérieure de la fenêtre.
+     * @param phase Phase de jeu de la position.
+     * @return 1 si le noeud dépasse probablement beta, -1 s'il reste probablement sous alpha, 0 sinon.
      */
-    private int evaluate(FastReversiBoard board) {
-        // Récupère les masques binaires des pions du bot et de l'adversaire
-        long myPieces = (this.color == Couleurcase.NOIR) ? board.black : board.white;
-        long oppPieces = (this.color == Couleurcase.NOIR) ? board.white : board.black;
-        
+    private int probCut(SideToMoveBoard board, int depth, int ply, int alpha, int beta, int phase) {
+        double a = probCut.getSlope(phase, depth);
+        double b = probCut.getIntercept(phase, depth);
+        double margin = probCutThreshold * probCut.getSigma(phase, depth);
+        int shallow = ProbCutParameters.shallowDepth(depth);
+
+        int bound = (int) Math.ceil((beta + margin - b) / a);
+        if (bound < PROBCUT_LIMIT && negamax(board, shallow, ply, bound - 1, bound) >= bound && !timeUp) {
+            probCutCutoffs++;
+            return 1;
+        }
+        bound = (int) Math.floor((alpha - margin - b) / a);
+        if (bound > -PROBCUT_LIMIT && negamax(board, shallow, ply, bound, bound + 1) <= bound && !timeUp) {
+            probCutCutoffs++;
+            return -1;
+        }
+        return 0;
+    }
+
+    /**
+     * Score d'une position par une recherche à fenêtre complète de profondeur donnée,
+     * sans table de transposition ni budget de temps. Sert à {@link ProbCutFitter}
+     * pour mesurer la relation entre recherches courtes et recherches complètes.
+     *
+     * @param board Le plateau normalisé (restauré à la fin).
+     * @param depth Profondeur de recherche (au plus la profondeur maximale du bot).
+     * @return Le score, du point de vue du joueur qui a le trait.
+     */
+    int searchValue(SideToMoveBoard board, int depth) {
+        deadline = Long.MAX_VALUE;
+        timeUp = false;
+        return negamax(board, depth, 0, -INFINITY, INFINITY);
+    }
+
+    /**
+     * Priorité de tri d'un coup : coup de la table de transposition, puis coups killer du niveau,
+     * puis coins, puis historique, et enfin cases X. Sans tri, l'ordre des cases est conservé.
+     *
+     * @param square Le coup.
+     * @param ply Distance à la racine.
+     * @param side Couleur du joueur qui a le trait (0 noirs, 1 blancs).
+     * @param ttMove Coup de la table de transposition, ou {@link TranspositionTable#NO_MOVE}.
+     * @return La priorité (plus elle est grande, plus le coup est examiné tôt).
+     */
+    private int moveScore(int square, int ply, int side, int ttMove) {
+        if (square == ttMove) return TT_MOVE_SCORE;
+        if (!moveOrdering) return -square;
+        if (square == killers[ply][0]) return KILLER_SCORE + 1;
+        if (square == killers[ply][1]) return KILLER_SCORE;
+        long bit = 1L << square;
+        if ((bit & CORNERS) != 0) return CORNER_SCORE;
+        if ((bit & X_SQUARES) != 0) return -CORNER_SCORE + history[side][square];
+        return history[side][square];
+    }
+
+    /**
+     * Met à jour les coups killer et l'historique après une coupure beta.
+     *
+     * @param square Le coup qui a provoqué la coupure.
+     * @param depth Profondeur restante au noeud (les coupures profondes comptent davantage).
+     * @param ply Distance à la racine.
+     * @param side Couleur du joueur qui a joué le coup.
+     */
+    private void recordCutoff(int square, int depth, int ply, int side) {
+        int[] killer = killers[ply];
+        if (killer[0] != square) {
+            killer[1] = killer[0];
+            killer[0] = square;
+        }
+        history[side][square] += depth * depth;
+        if (history[side][square] > HISTORY_LIMIT) ageHistory();
+    }
+
+    /**
+     * Divise toute la table d'historique par deux : les coupures récentes prennent le pas
+     * sur les anciennes (appelé à chaque nouvelle recherche et en cas de débordement).
+     */
+    private void ageHistory() {
+        for (int[] row : history) {
+            for (int i = 0; i < row.length; i++) row[i] >>= 1;
+        }
+    }
+
+    /**
+     * Fonction d'évaluation heuristique, du point de vue du joueur qui a le trait.
+     * Combine l'évaluation positionnelle (poids des cases ou motifs) et la mobilité,
+     * plus la mobilité potentielle, les pions de frontière et le score des bords si ces options sont activées.
+     *
+     * @param board Le plateau normalisé à évaluer.
+     * @return Un score entier représentant l'avantage du joueur qui a le trait.
+     */
+    private int evaluate(SideToMoveBoard board) {
         int score = 0;
         
-        // 1. Évaluation positionnelle : somme des poids des cases occupées
-        for (int i = 0; i < 64; i++) {
-            if ((myPieces & (1L << i)) != 0) score += WEIGHTS[i]; // Case occupée par le bot
-            else if ((oppPieces & (1L << i)) != 0) score -= WEIGHTS[i]; // Case occupée par l'adversaire
+        // 1. Évaluation positionnelle : tables de motifs, ou somme des poids des cases occupées
+        if (patternEvaluator != null) {
+            score += patternEvaluator.evaluate(board.getPatterns(), 64 - board.getEmptyCount(), board.isBlackToMove());
+        } else {
+            score += BitboardEvaluator.positional(board.player, board.opponent);
         }
         
         // 2. Mobilité : nombre de coups possibles (bits à 1 dans le masque)
-        int myMobility = Long.bitCount(board.getValidMovesBitmask(this.color == Couleurcase.NOIR));
-        int oppMobility = Long.bitCount(board.getValidMovesBitmask(this.color != Couleurcase.NOIR));
+        int myMobility = Long.bitCount(board.getValidMoves());
+        int oppMobility = Long.bitCount(board.getOpponentValidMoves());
         
         // Ajoute la différence de mobilité pondérée
         score += (myMobility - oppMobility) * 15; // Poids empirique 15
+
+        // 3. Mobilité potentielle et pions de frontière (décalages sur les 8 directions)
+        if (frontierFeatures) {
+            score += (FastReversiBoard.potentialMobility(board.player, board.opponent)
+                    - FastReversiBoard.potentialMobility(board.opponent, board.player)) * POTENTIAL_MOBILITY_WEIGHT;
+            score += (Long.bitCount(FastReversiBoard.frontierDiscs(board.opponent, board.player))
+                    - Long.bitCount(FastReversiBoard.frontierDiscs(board.player, board.opponent))) * FRONTIER_WEIGHT;
+        }
+
+        // 4. Bords : stabilité exacte des pions de bord, en quatre lectures de table
+        if (edgeTable) {
+            score += EdgeTable.score(board.player, board.opponent) * EDGE_TABLE_WEIGHT;
+        }
         
         return score;
     }
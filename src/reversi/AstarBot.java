@@ -8,6 +8,19 @@ import java.util.*;
  */
 
 public class AstarBot extends BotPlayer {
+
+    /** Masques des quatre bords : rangées 0 et 7, colonnes 0 et 7. */
+    private static final long[] EDGES = {
+        0x00000000000000FFL, 0xFF00000000000000L, 0x0101010101010101L, 0x8080808080808080L
+    };
+
+    /** Index des quatre coins : (0,0), (0,7), (7,0), (7,7). */
+    private static final int[] CORNER_SQUARES = {0, 7, 56, 63};
+
+    /** Pour chaque coin, l'union de sa rangée et de sa colonne. */
+    private static final long[] CORNER_LINES = {
+        EDGES[0] | EDGES[2], EDGES[0] | EDGES[3], EDGES[1] | EDGES[2], EDGES[1] | EDGES[3]
+    };
     
     /**
      * Constructeur du bot A*.
@@ -204,10 +217,10 @@ public class AstarBot extends BotPlayer {
      * @return La différence nette de mobilité.
      */
     private int calculateMobilityChange(ReversiPlateau originalBoard, ReversiPlateau newBoard) {
-        int originalMyMoves = originalBoard.getValidMoves(this.color).size();
-        int originalOpponentMoves = originalBoard.getValidMoves(this.color.oppose()).size();
-        int newMyMoves = newBoard.getValidMoves(this.color).size();
-        int newOpponentMoves = newBoard.getValidMoves(this.color.oppose()).size();
+        int originalMyMoves = Long.bitCount(originalBoard.getValidMovesMask(this.color));
+        int originalOpponentMoves = Long.bitCount(originalBoard.getValidMovesMask(this.color.oppose()));
+        int newMyMoves = Long.bitCount(newBoard.getValidMovesMask(this.color));
+        int newOpponentMoves = Long.bitCount(newBoard.getValidMovesMask(this.color.oppose()));
         
         int myMobilityChange = newMyMoves - originalMyMoves;
         int opponentMobilityChange = newOpponentMoves - originalOpponentMoves;
@@ -236,21 +249,8 @@ public class AstarBot extends BotPlayer {
      * @return Le nombre de voisins alliés.
      */
     private int countFriendlyNeighbors(ReversiPlateau board, int x, int y) {
-        int count = 0;
-        // Les 8 directions possibles
-        int[][] directions = {{-1,0}, {1,0}, {0,-1}, {0,1}, {-1,-1}, {-1,1}, {1,-1}, {1,1}};
-        
-        for (int[] dir : directions) {
-            int nx = x + dir[0];
-            int ny = y + dir[1];
-            // Vérifie les limites et si la case contient un pion allié
-            if (nx >= 0 && nx < 8 && ny >= 0 && ny < 8 && 
-                board.getEtat(nx, ny) == this.color) {
-                count++;
-            }
-        }
-        
-        return count;
+        long mine = (this.color == Couleurcase.NOIR) ? board.getNoirs() : board.getBlancs();
+        return Long.bitCount(FastReversiBoard.neighbours(1L << Move.toIndex(x, y)) & mine);
     }
     
     /**
@@ -262,6 +262,7 @@ public class AstarBot extends BotPlayer {
     private double evaluateCornerPotential(ReversiPlateau board) {
         double potential = 0.0;
         int[][] corners = {{0,0}, {0,7}, {7,0}, {7,7}};
+        long myMoves = board.getValidMovesMask(this.color);
         
         for (int[] corner : corners) {
             Couleurcase state = board.getEtat(corner[0], corner[1]);
@@ -269,8 +270,7 @@ public class AstarBot extends BotPlayer {
                 potential += 5.0; // Nous contrôlons ce coin
             } else if (state == Couleurcase.VIDE) {
                 // Vérifie si nous avons accès à ce coin
-                if (board.getValidMoves(this.color).stream()
-                    .anyMatch(m -> m.x == corner[0] && m.y == corner[1])) {
+                if ((myMoves & (1L << Move.toIndex(corner[0], corner[1]))) != 0) {
                     potential += 3.0; // Nous pouvons prendre ce coin
                 }
             }
@@ -280,33 +280,19 @@ public class AstarBot extends BotPlayer {
     }
     
     /**
-     * Évalue le potentiel de contrôle des bords.
+     * Évalue le potentiel de contrôle des bords : +1 par pion allié et -1 par pion adverse
+     * sur chacun des quatre bords (un coin compte donc pour ses deux bords).
      *
      * @param board Le plateau à évaluer.
      * @return Un score de potentiel de contrôle des bords.
      */
     private double evaluateEdgePotential(ReversiPlateau board) {
+        long my = (this.color == Couleurcase.NOIR) ? board.getNoirs() : board.getBlancs();
+        long opp = (this.color == Couleurcase.NOIR) ? board.getBlancs() : board.getNoirs();
         double potential = 0.0;
-        
-        // Compte nos pions sur les bords vs pions adverses
-        for (int i = 0; i < 8; i++) {
-            // Bord supérieur
-            if (board.getEtat(0, i) == this.color) potential += 1.0;
-            else if (board.getEtat(0, i) == this.color.oppose()) potential -= 1.0;
-            
-            // Bord inférieur
-            if (board.getEtat(7, i) == this.color) potential += 1.0;
-            else if (board.getEtat(7, i) == this.color.oppose()) potential -= 1.0;
-            
-            // Bord gauche
-            if (board.getEtat(i, 0) == this.color) potential += 1.0;
-            else if (board.getEtat(i, 0) == this.color.oppose()) potential -= 1.0;
-            
-            // Bord droit
-            if (board.getEtat(i, 7) == this.color) potential += 1.0;
-            else if (board.getEtat(i, 7) == this.color.oppose()) potential -= 1.0;
+        for (long edge : EDGES) {
+            potential += Long.bitCount(my & edge) - Long.bitCount(opp & edge);
         }
-        
         return potential;
     }
     
@@ -317,8 +303,8 @@ public class AstarBot extends BotPlayer {
      * @return Un score de potentiel de mobilité.
      */
     private double evaluateMobilityPotential(ReversiPlateau board) {
-        int myMobility = board.getValidMoves(this.color).size();
-        int opponentMobility = board.getValidMoves(this.color.oppose()).size();
+        int myMobility = Long.bitCount(board.getValidMovesMask(this.color));
+        int opponentMobility = Long.bitCount(board.getValidMovesMask(this.color.oppose()));
         return (myMobility - opponentMobility) * 0.5;
     }
     
@@ -329,47 +315,20 @@ public class AstarBot extends BotPlayer {
      * @return Un score de potentiel de stabilité.
      */
     private double evaluateStabilityPotential(ReversiPlateau board) {
+        // Évaluation simple de la stabilité basée sur les connexions aux coins :
+        // un pion sur la même ligne ou la même colonne qu'un coin que nous contrôlons compte 0.3
+        long my = (this.color == Couleurcase.NOIR) ? board.getNoirs() : board.getBlancs();
+        long connected = 0L;
+        for (int k = 0; k < CORNER_SQUARES.length; k++) {
+            if ((my & (1L << CORNER_SQUARES[k])) != 0) connected |= CORNER_LINES[k];
+        }
         double stability = 0.0;
-        
-        // Évaluation simple de la stabilité basée sur les connexions aux coins
-        // Les pions connectés aux coins sont plus stables
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                if (board.getEtat(i, j) == this.color) {
-                    // Vérifie si ce pion est connecté à un coin
-                    if (isConnectedToCorner(board, i, j)) {
-                        stability += 0.3;
-                    }
-                }
-            }
+        for (long m = my & connected; m != 0; m &= m - 1) {
+            stability += 0.3; // Additions successives, comme le parcours case par case d'origine
         }
-        
         return stability;
     }
     
-    /**
-     * Vérifie si un pion est connecté à un coin (directement ou via des pions alliés).
-     *
-     * @param board Le plateau.
-     * @param x Coordonnée x du pion.
-     * @param y Coordonnée y du pion.
-     * @return true si connecté à un coin, false sinon.
-     */
-    private boolean isConnectedToCorner(ReversiPlateau board, int x, int y) {
-        // Implémentation simple, vérifie si sur la même ligne/colonne qu'un coin que nous contrôlons
-        int[][] corners = {{0,0}, {0,7}, {7,0}, {7,7}};
-        
-        for (int[] corner : corners) {
-            if (board.getEtat(corner[0], corner[1]) == this.color) {
-                if (x == corner[0] || y == corner[1]) {
-                    return true;
-                }
-            }
-        }
-        
-        return false;
-    }
-    
     /**
      * Anticipation simplifiée pour l'évaluation du potentiel.
      *
@@ -383,16 +342,16 @@ public class AstarBot extends BotPlayer {
             return evaluateBoardSimple(board);
         }
         
-        List<Move> moves = board.getValidMoves(this.color);
-        if (moves.isEmpty()) {
+        long moves = board.getValidMovesMask(this.color);
+        if (moves == 0) {
             return evaluateBoardSimple(board);
         }
         
         double bestPotential = Double.NEGATIVE_INFINITY;
         
         // Examine un échantillon de coups pour estimer le potentiel
-        for (int i = 0; i < Math.min(3, moves.size()); i++) { // Échantillonne 3 coups
-            Move move = moves.get(i);
+        for (int i = 0; i < 3 && moves != 0; i++, moves &= moves - 1) { // Échantillonne 3 coups
+            Move move = Move.of(Long.numberOfTrailingZeros(moves));
             ReversiPlateau newBoard = board.copy();
             newBoard.placePion(move, this.color);
             
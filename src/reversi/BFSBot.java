@@ -135,16 +135,17 @@ public class BFSBot extends BotPlayer {
                 continue;
             }
             
-            // Récupère les coups valides pour le joueur actuel
-            List<Move> validMoves = currentBoard.getValidMoves(currentPlayer);
+            // Récupère les coups valides pour le joueur actuel (masque binaire, sans liste)
+            long validMoves = currentBoard.getValidMovesMask(currentPlayer);
             
             // Si aucun coup valide, le joueur passe son tour
-            if (validMoves.isEmpty()) {
+            if (validMoves == 0) {
                 // Crée un nouvel état où le tour passe à l'autre joueur
                 queue.add(new BoardState(currentBoard.copy(), currentDepth + 1, currentPlayer.oppose()));
             } else {
-                // Explore tous les coups valides
-                for (Move move : validMoves) {
+                // Explore tous les coups valides (un bit à 1 par coup)
+                for (; validMoves != 0; validMoves &= validMoves - 1) {
+                    Move move = Move.of(Long.numberOfTrailingZeros(validMoves));
                     ReversiPlateau newBoard = currentBoard.copy();
                     newBoard.placePion(move, currentPlayer);
                     
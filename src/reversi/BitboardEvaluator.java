@@ -0,0 +1,81 @@
+package reversi;
+
+import java.util.Arrays;
+
+/**
+ * Évaluation positionnelle commune aux bots utilisant FastReversiBoard.
+ * La table de poids ne contient que quelques valeurs distinctes : on précalcule donc
+ * un masque par classe de poids, et le score s'obtient par comptage de bits
+ * (deux popcounts par classe) au lieu d'un parcours des 64 cases.
+ */
+public final class BitboardEvaluator {
+
+    /**
+     * Tableau de poids statiques pour chaque case du plateau (8x8 = 64 cases).
+     * Les valeurs reflètent l'importance stratégique de chaque position :
+     * - Coins (100) : très avantageux
+     * - Cases près des coins (-20, -50) : dangereuses (peuvent donner un coin à l'adversaire)
+     * - Bordures (10, 5) : avantageuses
+     * - Centre (-1, -2) : moins stables
+     */
+    private static final int[] WEIGHTS = {
+         100, -20,  10,   5,   5,  10, -20, 100,
+         -20, -50,  -2,  -2,  -2,  -2, -50, -20,
+          10,  -2,  -1,  -1,  -1,  -1,  -2,  10,
+           5,  -2,  -1,  -1,  -1,  -1,  -2,   5,
+           5,  -2,  -1,  -1,  -1,  -1,  -2,   5,
+          10,  -2,  -1,  -1,  -1,  -1,  -2,  10,
+         -20, -50,  -2,  -2,  -2,  -2, -50, -20,
+         100, -20,  10,   5,   5,  10, -20, 100
+    };
+
+    /** Poids de chaque classe (valeurs distinctes de WEIGHTS). */
+    private static final int[] CLASS_WEIGHTS;
+
+    /** Masque des cases de chaque classe de poids. */
+    private static final long[] CLASS_MASKS;
+
+    static {
+        int[] weights = new int[64];
+        long[] masks = new long[64];
+        int classes = 0;
+        for (int i = 0; i < 64; i++) {
+            int c = 0;
+            while (c < classes && weights[c] != WEIGHTS[i]) c++;
+            if (c == classes) weights[classes++] = WEIGHTS[i];
+            masks[c] |= 1L << i;
+        }
+        CLASS_WEIGHTS = Arrays.copyOf(weights, classes);
+        CLASS_MASKS = Arrays.copyOf(masks, classes);
+    }
+
+    /** Classe utilitaire : pas d'instance. */
+    private BitboardEvaluator() {
+    }
+
+    /**
+     * Retourne le poids statique d'une case.
+     *
+     * @param square Indice de la case (x * 8 + y).
+     * @return Le poids de la case.
+     */
+    public static int weight(int square) {
+        return WEIGHTS[square];
+    }
+
+    /**
+     * Évaluation positionnelle : somme des poids des cases du joueur moins celle des cases adverses.
+     *
+     * @param my Masque des pions du joueur.
+     * @param opp Masque des pions adverses.
+     * @return Le score positionnel du point de vue du joueur.
+     */
+    public static int positional(long my, long opp) {
+        int score = 0;
+        for (int c = 0; c < CLASS_MASKS.length; c++) {
+            long mask = CLASS_MASKS[c];
+            score += CLASS_WEIGHTS[c] * (Long.bitCount(my & mask) - Long.bitCount(opp & mask));
+        }
+        return score;
+    }
+}
@@ -6,6 +6,9 @@ package reversi;
  * et fournir leur propre logique de décision de coup.
  */
 public abstract class BotPlayer extends Player {
+
+    /** Livre d'ouvertures consulté avant la recherche (null : aucun). */
+    private OpeningBook openingBook;
     
     /**
      * Constructeur du bot.
@@ -27,4 +30,47 @@ public abstract class BotPlayer extends Player {
      * @return Le coup (Move) choisi par le bot, ou null si aucun coup n'est possible.
      */
     public abstract Move getMove(ReversiPlateau board);
+
+    /**
+     * Libère les ressources propres au bot (threads de recherche, par exemple) quand il ne joue plus.
+     * Par défaut, il n'y a rien à libérer.
+     */
+    public void dispose() {
+    }
+
+    /**
+     * Associe un livre d'ouvertures au bot : {@link #chooseMove(ReversiPlateau)} le consulte
+     * avant de lancer la recherche.
+     *
+     * @param openingBook Le livre d'ouvertures, ou null pour toujours chercher.
+     * @return Ce bot, pour chaîner la configuration.
+     */
+    public BotPlayer withOpeningBook(OpeningBook openingBook) {
+        this.openingBook = openingBook;
+        return this;
+    }
+
+    /**
+     * Retourne le livre d'ouvertures du bot.
+     *
+     * @return Le livre d'ouvertures, ou null si le bot n'en a pas.
+     */
+    public OpeningBook getOpeningBook() {
+        return openingBook;
+    }
+
+    /**
+     * Choisit le coup à jouer : le coup du livre d'ouvertures si la position y figure
+     * (et que le coup est valide), sinon celui de {@link #getMove(ReversiPlateau)}.
+     *
+     * @param board Une copie du plateau actuel.
+     * @return Le coup choisi, ou null si aucun coup n'est possible.
+     */
+    public Move chooseMove(ReversiPlateau board) {
+        if (openingBook != null) {
+            Move move = openingBook.lookup(board, color);
+            if (move != null && board.isMoveValid(move, color)) return move;
+        }
+        return getMove(board);
+    }
 }
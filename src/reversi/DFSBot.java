@@ -110,18 +110,19 @@ public class DFSBot extends BotPlayer {
             return evaluateBoard(board);
         }
         
-        // Récupère les coups valides pour le joueur actuel
-        List<Move> validMoves = board.getValidMoves(currentPlayer);
+        // Récupère les coups valides pour le joueur actuel (masque binaire, sans liste)
+        long validMoves = board.getValidMovesMask(currentPlayer);
         
         // Si aucun coup valide, le joueur passe, continue avec le joueur opposé
-        if (validMoves.isEmpty()) {
+        if (validMoves == 0) {
             return performDFS(board, depth - 1, currentPlayer.oppose());
         }
         
         int bestScore = Integer.MIN_VALUE;
         
-        // Explore récursivement tous les coups valides
-        for (Move move : validMoves) {
+        // Explore récursivement tous les coups valides (un bit à 1 par coup)
+        for (; validMoves != 0; validMoves &= validMoves - 1) {
+            Move move = Move.of(Long.numberOfTrailingZeros(validMoves));
             // Crée une copie du plateau pour cette branche
             ReversiPlateau newBoard = board.copy();
             newBoard.placePion(move, currentPlayer);
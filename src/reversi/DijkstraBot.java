@@ -57,17 +57,17 @@ public class DijkstraBot extends BotPlayer {
         PriorityQueue<BoardNode> queue = new PriorityQueue<>(Comparator.comparingInt(node -> node.distance));
         
         // Map pour stocker les distances minimales connues pour chaque état de plateau
-        Map<String, Integer> distances = new HashMap<>();
+        Map<Long, Integer> distances = new HashMap<>();
         
         // Map pour associer le premier coup à chaque état de plateau
-        Map<String, Move> firstMoves = new HashMap<>();
+        Map<Long, Move> firstMoves = new HashMap<>();
         
         // Initialise avec tous les premiers coups possibles
         for (Move firstMove : validMoves) {
             ReversiPlateau newBoard = startBoard.copy();
             newBoard.placePion(firstMove, this.color);
             
-            String boardKey = getBoardKey(newBoard);
+            long boardKey = getBoardKey(newBoard);
             
             // Distance initiale : négatif de notre avantage (on veut minimiser l'avantage de l'adversaire)
             int initialDistance = -evaluateBoardAdvantage(newBoard);
@@ -96,12 +96,12 @@ public class DijkstraBot extends BotPlayer {
             // Explore les coups de l'adversaire (on considère les meilleures réponses de l'adversaire)
             // Alternance des joueurs selon la profondeur
             Couleurcase currentPlayer = current.depth % 2 == 0 ? this.color.oppose() : this.color;
-            List<Move> nextMoves = current.board.getValidMoves(currentPlayer);
+            long nextMoves = current.board.getValidMovesMask(currentPlayer);
             
-            if (nextMoves.isEmpty()) {
+            if (nextMoves == 0) {
                 // Le joueur passe son tour
                 ReversiPlateau passBoard = current.board.copy();
-                String boardKey = getBoardKey(passBoard);
+                long boardKey = getBoardKey(passBoard);
                 int newDistance = current.distance;
                 
                 // Met à jour si un chemin plus court est trouvé
@@ -115,8 +115,9 @@ public class DijkstraBot extends BotPlayer {
                 continue;
             }
             
-            // Explore tous les coups possibles du joueur actuel
-            for (Move move : nextMoves) {
+            // Explore tous les coups possibles du joueur actuel (un bit à 1 par coup)
+            for (; nextMoves != 0; nextMoves &= nextMoves - 1) {
+                Move move = Move.of(Long.numberOfTrailingZeros(nextMoves));
                 ReversiPlateau newBoard = current.board.copy();
                 newBoard.placePion(move, currentPlayer);
                 
@@ -124,7 +125,7 @@ public class DijkstraBot extends BotPlayer {
                 int advantageChange = evaluateBoardAdvantage(newBoard) - evaluateBoardAdvantage(current.board);
                 int newDistance = current.distance - advantageChange; // Négatif car on veut minimiser l'avantage de l'adversaire
                 
-                String boardKey = getBoardKey(newBoard);
+                long boardKey = getBoardKey(newBoard);
                 
                 // Met à jour si un chemin plus court est trouvé
                 if (!distances.containsKey(boardKey) || newDistance < distances.get(boardKey)) {
@@ -213,8 +214,8 @@ public class DijkstraBot extends BotPlayer {
      * @return Le score de mobilité.
      */
     private int evaluateMobilityAdvantage(ReversiPlateau board) {
-        int myMoves = board.getValidMoves(this.color).size();
-        int opponentMoves = board.getValidMoves(this.color.oppose()).size();
+        int myMoves = Long.bitCount(board.getValidMovesMask(this.color));
+        int opponentMoves = Long.bitCount(board.getValidMovesMask(this.color.oppose()));
         
         if (myMoves + opponentMoves == 0) return 0;
         
@@ -223,20 +224,13 @@ public class DijkstraBot extends BotPlayer {
     
     /**
      * Crée une clé unique pour un état de plateau (version simplifiée).
-     * Convertit l'état du plateau en chaîne de caractères pour l'utiliser comme clé dans les Maps.
+     * Utilise le hash de Zobrist des masques du plateau comme clé primitive dans les Maps.
      *
      * @param board Le plateau à encoder.
-     * @return Une chaîne représentant l'état du plateau.
+     * @return Le hash de Zobrist représentant l'état du plateau.
      */
-    private String getBoardKey(ReversiPlateau board) {
-        StringBuilder key = new StringBuilder();
-        for (int i = 0; i < ReversiPlateau.taille; i++) {
-            for (int j = 0; j < ReversiPlateau.taille; j++) {
-                // Utilise la valeur ordinale de l'énumération (0, 1, 2)
-                key.append(board.getEtat(i, j).ordinal());
-            }
-        }
-        return key.toString();
+    private long getBoardKey(ReversiPlateau board) {
+        return FastReversiBoard.computeHash(board.getNoirs(), board.getBlancs());
     }
     
     /**
@@ -9,25 +9,6 @@ import java.util.*;
  */
 public class DijkstraBotRapide extends BotPlayer {
     
-    /**
-     * Tableau de poids positionnels aplatis (1D) pour une lecture rapide.
-     * Mêmes valeurs que dans AlphaBetaBotRapide :
-     * - Coins : 100 (très avantageux)
-     * - Cases dangereuses près des coins : -20, -50
-     * - Bordures : 10, 5
-     * - Centre : -1, -2
-     */
-    private static final int[] WEIGHTS = {
-        100, -20, 10, 5, 5, 10, -20, 100,
-        -20, -50, -2, -2, -2, -2, -50, -20,
-        10, -2, -1, -1, -1, -1, -2, 10,
-        5, -2, -1, -1, -1, -1, -2, 5,
-        5, -2, -1, -1, -1, -1, -2, 5,
-        10, -2, -1, -1, -1, -1, -2, 10,
-        -20, -50, -2, -2, -2, -2, -50, -20,
-        100, -20, 10, 5, 5, 10, -20, 100
-    };
-
     /**
      * Constructeur du bot Dijkstra optimisé.
      *
@@ -57,7 +38,7 @@ public class DijkstraBotRapide extends BotPlayer {
         // Optimisation : s'il n'y a qu'un seul coup possible, le joue immédiatement
         if (Long.bitCount(validMoves) == 1) {
             int i = Long.numberOfTrailingZeros(validMoves);
-            return new Move(i / 8, i % 8);
+            return Move.of(i);
         }
         
         return dijkstraSearch(startBoard, isBlack);
@@ -75,10 +56,11 @@ public class DijkstraBotRapide extends BotPlayer {
         PriorityQueue<BoardNode> queue = new PriorityQueue<>(Comparator.comparingInt(node -> node.distance));
         
         // Map pour stocker la distance minimale pour atteindre un état donné
-        Map<String, Integer> distances = new HashMap<>();
+        // (clé : hash de Zobrist de la position, trait compris)
+        Map<Long, Integer> distances = new HashMap<>();
         
         // Map pour retenir quel premier coup a mené à quel état
-        Map<String, Move> firstMoves = new HashMap<>();
+        Map<Long, Move> firstMoves = new HashMap<>();
         
         // Initialisation avec les premiers coups possibles
         long validMoves = startBoard.getValidMovesBitmask(myColorIsBlack);
@@ -86,16 +68,17 @@ public class DijkstraBotRapide extends BotPlayer {
         // Explore chaque coup initial possible
         for (int i = 0; i < 64; i++) {
             if ((validMoves & (1L << i)) != 0) {
+                // Ces plateaux sont conservés dans la file : une copie est nécessaire
                 FastReversiBoard nextBoard = startBoard.copy();
-                nextBoard.makeMove(i / 8, i % 8, myColorIsBlack);
+                nextBoard.makeMove(i, myColorIsBlack);
                 
-                String key = getKey(nextBoard);
+                long key = getKey(nextBoard, !myColorIsBlack); // C'est ensuite à l'adversaire de jouer
                 // La distance est négative car on veut maximiser notre avantage
                 // Dijkstra cherche le minimum, donc min(-Score) = max(Score)
                 int dist = -evaluateBoardAdvantage(nextBoard, myColorIsBlack);
                 
                 distances.put(key, dist);
-                Move moveObj = new Move(i / 8, i % 8);
+                Move moveObj = Move.of(i);
                 firstMoves.put(key, moveObj);
                 
                 queue.add(new BoardNode(nextBoard, dist, 1));
@@ -112,7 +95,11 @@ public class DijkstraBotRapide extends BotPlayer {
             if (System.currentTimeMillis() - startTime > 1500) break;
 
             BoardNode current = queue.poll();
-            String currentKey = getKey(current.board);
+            
+            // Détermine à qui c'est le tour dans cet état simulé
+            // Alternance basée sur la profondeur : 0 = nous, 1 = adversaire, 2 = nous, etc
+            boolean isBlackTurnNow = ((current.depth % 2) == 0) ? myColorIsBlack : !myColorIsBlack;
+            long currentKey = getKey(current.board, isBlackTurnNow);
             
             // Si on a déjà trouvé un chemin plus court vers cet état, on ignore
             if (distances.containsKey(currentKey) && distances.get(currentKey) < current.distance) {
@@ -129,17 +116,14 @@ public class DijkstraBotRapide extends BotPlayer {
                 continue;
             }
             
-            // Détermine à qui c'est le tour dans cet état simulé
-            // Alternance basée sur la profondeur : 0 = nous, 1 = adversaire, 2 = nous, etc
-            boolean isBlackTurnNow = ((current.depth % 2) == 0) ? myColorIsBlack : !myColorIsBlack;
-            
             long nextMovesMask = current.board.getValidMovesBitmask(isBlackTurnNow);
             
             if (nextMovesMask == 0) {
                 // Le joueur passe son tour
-                // Continue avec le même plateau, profondeur +1
-                BoardNode passNode = new BoardNode(current.board.copy(), current.distance, current.depth + 1);
-                String passKey = getKey(passNode.board) + ":" + (current.depth + 1); // Clé unique incluant profondeur pour éviter les boucles
+                // Continue avec le même plateau, profondeur +1 (le plateau n'est jamais modifié
+                // durablement : chaque coup exploré est annulé, il peut donc être partagé)
+                BoardNode passNode = new BoardNode(current.board, current.distance, current.depth + 1);
+                long passKey = getKey(passNode.board, !isBlackTurnNow); // Même plateau mais trait inversé : clé différente
                 
                 if (!distances.containsKey(passKey) || current.distance < distances.get(passKey)) {
                     distances.put(passKey, current.distance);
@@ -151,23 +135,27 @@ public class DijkstraBotRapide extends BotPlayer {
             }
 
             // Génération des états voisins (coups possibles)
+            // Chaque coup est joué sur place puis annulé : le plateau n'est copié
+            // que si l'état voisin est effectivement ajouté à la file
+            FastReversiBoard board = current.board;
             for (int i = 0; i < 64; i++) {
                 if ((nextMovesMask & (1L << i)) != 0) {
-                    FastReversiBoard nextBoard = current.board.copy();
-                    nextBoard.makeMove(i / 8, i % 8, isBlackTurnNow);
+                    long flipped = board.makeMove(i, isBlackTurnNow);
                     
-                    int newAdvantage = evaluateBoardAdvantage(nextBoard, myColorIsBlack);
+                    int newAdvantage = evaluateBoardAdvantage(board, myColorIsBlack);
                     // Le coût de l'arête est la variation d'avantage
                     // On veut minimiser le score final (qui est -Avantage)
                     int newDistance = -newAdvantage; 
                     
-                    String key = getKey(nextBoard);
+                    long key = getKey(board, !isBlackTurnNow);
                     
                     if (!distances.containsKey(key) || newDistance < distances.get(key)) {
                         distances.put(key, newDistance);
                         firstMoves.putIfAbsent(key, firstMoves.get(currentKey));
-                        queue.add(new BoardNode(nextBoard, newDistance, current.depth + 1));
+                        queue.add(new BoardNode(board.copy(), newDistance, current.depth + 1));
                     }
+                    
+                    board.undoMove(i, flipped, isBlackTurnNow);
                 }
             }
         }
@@ -176,21 +164,22 @@ public class DijkstraBotRapide extends BotPlayer {
         if (bestMove == null) {
              long m = startBoard.getValidMovesBitmask(myColorIsBlack);
              int i = Long.numberOfTrailingZeros(m);
-             return new Move(i / 8, i % 8);
+             return Move.of(i);
         }
         
         return bestMove;
     }
     
     /**
-     * Génère une clé unique rapide pour la HashMap.
-     * Combine les masques binaires des noirs et blancs.
+     * Génère une clé rapide pour la HashMap : le hash de Zobrist du plateau, trait compris.
+     * Le hash est maintenu de manière incrémentale par FastReversiBoard : aucune chaîne n'est construite.
      *
      * @param b Le plateau FastReversiBoard.
-     * @return Une chaîne "blackMask:whiteMask".
+     * @param blackTurn true si les noirs ont le trait dans cet état.
+     * @return Le hash de Zobrist de l'état.
      */
-    private String getKey(FastReversiBoard b) {
-        return b.black + ":" + b.white;
+    private long getKey(FastReversiBoard b, boolean blackTurn) {
+        return b.getHash(blackTurn);
     }
     
     /**
@@ -221,10 +210,7 @@ public class DijkstraBotRapide extends BotPlayer {
         int score = 0;
         
         // 1. Évaluation positionnelle (matrice de poids)
-        for (int i = 0; i < 64; i++) {
-            if ((myPieces & (1L << i)) != 0) score += WEIGHTS[i];
-            else if ((oppPieces & (1L << i)) != 0) score -= WEIGHTS[i];
-        }
+        score += BitboardEvaluator.positional(myPieces, oppPieces);
         
         // 2. Mobilité (poids 5)
         score += (Long.bitCount(validMe) - Long.bitCount(validOpp)) * 5;
@@ -0,0 +1,167 @@
+package reversi;
+
+import java.util.Arrays;
+
+/**
+ * Table précalculée des configurations de bord (3^8 = 6561 entrées).
+ * Un pion de bord ne peut être retourné que le long de ce bord : sa stabilité
+ * ne dépend donc que des 8 cases de la ligne. Pour chaque configuration, la table donne
+ * les pions définitivement stables (calcul exact, en envisageant toutes les suites de coups
+ * des deux joueurs sur les cases vides du bord) et un score.
+ *
+ * Les tables sont construites une seule fois au chargement de la classe. Les quatre bords
+ * d'une position s'évaluent ensuite en quatre lectures de table : les lignes 1 et 8 sont
+ * les octets extrêmes des masques, les colonnes A et H ceux des masques transposés.
+ */
+public final class EdgeTable {
+
+    /** Nombre de configurations d'un bord (3 puissance 8). */
+    public static final int SIZE = 6561;
+
+    /** Score d'un pion de bord non stable. */
+    private static final int EDGE_WEIGHT = 1;
+
+    /** Score d'un pion de bord stable. */
+    private static final int STABLE_WEIGHT = 3;
+
+    /** Pour chaque octet : la somme des puissances de 3 de ses bits à 1. */
+    private static final int[] BASE3 = new int[256];
+
+    /** Pions stables (des deux couleurs) de chaque configuration, sous forme de masque sur 8 bits. */
+    private static final byte[] STABLE = new byte[SIZE];
+
+    /** Score de chaque configuration, du point de vue du joueur (chiffre 1). */
+    private static final short[] SCORE = new short[SIZE];
+
+    static {
+        for (int b = 0; b < 256; b++) {
+            int value = 0;
+            for (int k = 7; k >= 0; k--) value = value * 3 + ((b >>> k) & 1);
+            BASE3[b] = value;
+        }
+
+        // Calcul récursif avec mémorisation : -1 tant qu'une configuration n'est pas calculée
+        short[] memo = new short[SIZE];
+        Arrays.fill(memo, (short) -1);
+        for (int my = 0; my < 256; my++) {
+            for (int opp = 0; opp < 256; opp++) {
+                if ((my & opp) != 0) continue;
+                int index = index(my, opp);
+                int stable = stableLine(my, opp, memo);
+                STABLE[index] = (byte) stable;
+                SCORE[index] = (short) (lineScore(my, stable) - lineScore(opp, stable));
+            }
+        }
+    }
+
+    /** Classe utilitaire : pas d'instance. */
+    private EdgeTable() {
+    }
+
+    /**
+     * Indice d'une configuration de bord (chiffre 0 vide, 1 joueur, 2 adversaire).
+     *
+     * @param my Pions du joueur sur la ligne (8 bits).
+     * @param opp Pions adverses sur la ligne (8 bits).
+     * @return L'indice en base 3 (0 à 6560).
+     */
+    public static int index(int my, int opp) {
+        return BASE3[my] + 2 * BASE3[opp];
+    }
+
+    /**
+     * Score des quatre bords du point de vue du joueur : chaque pion de bord compte
+     * {@value #EDGE_WEIGHT}, ou {@value #STABLE_WEIGHT} s'il est stable. Les coins,
+     * présents sur deux bords, comptent deux fois.
+     *
+     * @param my Masque des pions du joueur.
+     * @param opp Masque des pions adverses.
+     * @return Le score des bords (positif si avantageux pour le joueur).
+     */
+    public static int score(long my, long opp) {
+        long tMy = FastReversiBoard.flipDiagonal(my);
+        long tOpp = FastReversiBoard.flipDiagonal(opp);
+        return SCORE[index((int) my & 0xFF, (int) opp & 0xFF)]
+                + SCORE[index((int) (my >>> 56), (int) (opp >>> 56))]
+                + SCORE[index((int) tMy & 0xFF, (int) tOpp & 0xFF)]
+                + SCORE[index((int) (tMy >>> 56), (int) (tOpp >>> 56))];
+    }
+
+    /**
+     * Pions de bord stables des deux couleurs (exacts le long de chaque bord).
+     * Un tel pion est stable sur les quatre axes : les trois autres axes sortent du plateau.
+     *
+     * @param my Masque des pions du joueur.
+     * @param opp Masque des pions adverses.
+     * @return Le masque des pions de bord qui ne pourront plus jamais être retournés.
+     */
+    public static long stableEdges(long my, long opp) {
+        long tMy = FastReversiBoard.flipDiagonal(my);
+        long tOpp = FastReversiBoard.flipDiagonal(opp);
+        long rows = (STABLE[index((int) my & 0xFF, (int) opp & 0xFF)] & 0xFFL)
+                | (STABLE[index((int) (my >>> 56), (int) (opp >>> 56))] & 0xFFL) << 56;
+        long cols = (STABLE[index((int) tMy & 0xFF, (int) tOpp & 0xFF)] & 0xFFL)
+                | (STABLE[index((int) (tMy >>> 56), (int) (tOpp >>> 56))] & 0xFFL) << 56;
+        return rows | FastReversiBoard.flipDiagonal(cols);
+    }
+
+    /**
+     * Calcule les pions stables d'une ligne : ceux qui gardent leur couleur quelle que soit
+     * la suite de coups jouée sur les cases vides (par l'un ou l'autre joueur).
+     *
+     * @param my Pions du joueur sur la ligne.
+     * @param opp Pions adverses sur la ligne.
+     * @param memo Résultats déjà calculés, indexés par configuration (-1 si inconnu).
+     * @return Le masque (8 bits) des pions stables.
+     */
+    private static int stableLine(int my, int opp, short[] memo) {
+        int index = index(my, opp);
+        if (memo[index] >= 0) return memo[index];
+
+        int stable = my | opp;
+        for (int empty = ~stable & 0xFF; empty != 0; empty &= empty - 1) {
+            int square = Integer.numberOfTrailingZeros(empty);
+            // Coup du joueur puis coup de l'adversaire sur cette case
+            int flipped = lineFlips(square, my, opp);
+            stable &= ~flipped & stableLine(my | (1 << square) | flipped, opp & ~flipped, memo);
+            flipped = lineFlips(square, opp, my);
+            stable &= ~flipped & stableLine(my & ~flipped, opp | (1 << square) | flipped, memo);
+        }
+        memo[index] = (short) stable;
+        return stable;
+    }
+
+    /**
+     * Pions retournés le long de la ligne quand un joueur pose un pion sur une case.
+     * Le coup peut être légal grâce à une autre direction : il est donc joué même s'il ne retourne rien.
+     *
+     * @param square Position sur la ligne (0-7).
+     * @param my Pions du joueur qui joue.
+     * @param opp Pions de l'adversaire.
+     * @return Le masque (8 bits) des pions retournés.
+     */
+    private static int lineFlips(int square, int my, int opp) {
+        int flipped = 0;
+        for (int step = -1; step <= 1; step += 2) {
+            int run = 0;
+            int k = square + step;
+            while (k >= 0 && k < 8 && (opp & (1 << k)) != 0) {
+                run |= 1 << k;
+                k += step;
+            }
+            if (k >= 0 && k < 8 && (my & (1 << k)) != 0) flipped |= run;
+        }
+        return flipped;
+    }
+
+    /**
+     * Score des pions d'une couleur sur une ligne.
+     *
+     * @param discs Pions de la couleur.
+     * @param stable Pions stables de la ligne.
+     * @return La somme des scores des pions.
+     */
+    private static int lineScore(int discs, int stable) {
+        return Integer.bitCount(discs & stable) * STABLE_WEIGHT + Integer.bitCount(discs & ~stable) * EDGE_WEIGHT;
+    }
+}
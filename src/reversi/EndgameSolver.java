@@ -0,0 +1,592 @@
+package reversi;
+
+/**
+ * Résolution exacte des fins de partie : au lieu d'une évaluation heuristique, la recherche
+ * va jusqu'à la fin de la partie et renvoie la différence de pions finale (les cases restées
+ * vides reviennent au gagnant, selon la règle habituelle des tournois).
+ *
+ * Deux modes : le score exact, ou seulement gain / nulle / perte (fenêtre [-1, 1], beaucoup
+ * plus rapide). La recherche travaille directement sur les masques du joueur au trait et de son
+ * adversaire, avec les fonctions de {@link FastReversiBoard} ; aucun plateau n'est créé.
+ * Les coups sont triés :
+ * <ul>
+ *   <li>loin de la fin, en "fastest-first" : d'abord les coups qui laissent le moins de coups
+ *       à l'adversaire (coins comptés double), qui provoquent les coupures les plus rapides ;</li>
+ *   <li>près de la fin, par parité de région : d'abord les cases des quadrants qui contiennent
+ *       un nombre impair de cases vides (jouer le dernier coup d'une région est un avantage) ;</li>
+ *   <li>pour les 4 dernières cases vides, des fonctions spécialisées reçoivent les cases vides
+ *       en paramètres et essaient chaque case sans générer de masque de coups.</li>
+ * </ul>
+ * Loin de la fin, les résultats sont aussi conservés dans une table de transposition
+ * (bornes et meilleur coup), ce qui évite de résoudre plusieurs fois les transpositions.
+ * Enfin, les pions stables de l'adversaire bornent le meilleur score possible : un noeud
+ * dont alpha atteint déjà cette borne est coupé sans chercher ses coups.
+ *
+ * Une résolution peut recevoir une échéance : au-delà, elle est abandonnée ({@link #isAborted()})
+ * et l'appelant se rabat sur une recherche heuristique.
+ *
+ * Une instance n'est pas partagée entre threads : elle compte les noeuds et le temps
+ * de la dernière résolution, et ses tampons de tri sont réutilisés d'un noeud à l'autre.
+ */
+public class EndgameSolver {
+
+    /** Nombre de cases vides à partir duquel les coups sont triés en fastest-first plutôt que par parité. */
+    private static final int FASTEST_FIRST_EMPTIES = 7;
+
+    /** Nombre de cases vides à partir duquel les résultats sont conservés dans la table de transposition. */
+    private static final int TABLE_EMPTIES = 10;
+
+    /**
+     * Alpha minimal pour tenter la coupure par stabilité : avec un alpha négatif, il faudrait
+     * plus de 32 pions stables adverses, ce qui n'arrive presque jamais en pratique.
+     */
+    private static final int STABILITY_THRESHOLD = 0;
+
+    /** Nombre de noeuds entre deux consultations de l'horloge (moins 1, puissance de 2). */
+    private static final long CLOCK_CHECK_MASK = 4095;
+
+    /** Masque binaire des quatre coins. */
+    private static final long CORNERS = 0x8100000000000081L;
+
+    /** Masques des quatre quadrants 4x4 du plateau (index x * 8 + y). */
+    private static final long[] QUADRANTS = {
+            0x000000000F0F0F0FL, 0x00000000F0F0F0F0L, 0x0F0F0F0F00000000L, 0xF0F0F0F000000000L};
+
+    /**
+     * Score d'une fin de partie pour une recherche heuristique : au-delà de toute évaluation,
+     * pour qu'une partie gagnée soit toujours préférée à une position seulement avantageuse.
+     */
+    public static final int WIN_SCORE = 1_000_000;
+
+    /** Table de transposition de la résolution (la "profondeur" d'une entrée est son nombre de cases vides). */
+    private final TranspositionTable table;
+
+    /** Nombre de noeuds de la dernière résolution. */
+    private long nodes;
+
+    /** Coupure par stabilité activée. */
+    private boolean stabilityCutoff = true;
+
+    /** Nombre de coupures par stabilité de la dernière résolution. */
+    private long stabilityCutoffs;
+
+    /** Durée de la dernière résolution, en nanosecondes. */
+    private long elapsedNanos;
+
+    /** Meilleur coup trouvé par la dernière résolution (-1 si aucun). */
+    private int bestMove = -1;
+
+    /** Instant (System.nanoTime()) d'abandon de la résolution en cours. */
+    private long deadline = Long.MAX_VALUE;
+
+    /** true si la dernière résolution a dépassé son échéance. */
+    private boolean aborted;
+
+    /** Coups triés en fastest-first : [nombre de cases vides][rang]. Un noeud n'utilise que la ligne de son nombre de cases vides. */
+    private final int[][] orders = new int[61][64];
+
+    /** Clés de tri du noeud en cours de tri. */
+    private final int[] keys = new int[64];
+
+    /**
+     * Crée un solveur avec une table de transposition de 16 Mo.
+     */
+    public EndgameSolver() {
+        this(16);
+    }
+
+    /**
+     * Crée un solveur avec une table de transposition d'une taille donnée.
+     *
+     * @param tableMegabytes Taille de la table de transposition en Mo.
+     */
+    public EndgameSolver(int tableMegabytes) {
+        this.table = new TranspositionTable(tableMegabytes);
+    }
+
+    /**
+     * Active ou désactive la coupure par stabilité (pour mesurer son effet).
+     *
+     * @param enabled true pour couper grâce aux pions stables de l'adversaire.
+     * @return Ce solveur, pour chaîner la configuration après le constructeur.
+     */
+    public EndgameSolver withStabilityCutoff(boolean enabled) {
+        this.stabilityCutoff = enabled;
+        return this;
+    }
+
+    /**
+     * Résout une position : cherche le meilleur coup du joueur au trait jusqu'à la fin de la partie.
+     *
+     * @param player Masque des pions du joueur qui a le trait.
+     * @param opponent Masque des pions de l'adversaire.
+     * @param exact true pour le score exact, false pour seulement gain / nulle / perte.
+     * @return La différence de pions finale du point de vue du joueur (en mode gain / nulle / perte :
+     *         positive, nulle ou négative selon l'issue, sans autre signification).
+     */
+    public int solve(long player, long opponent, boolean exact) {
+        return solve(player, opponent, exact, Long.MAX_VALUE);
+    }
+
+    /**
+     * Résout une position avant une échéance. Si elle est dépassée, la résolution est abandonnée :
+     * {@link #isAborted()} le signale, et le score et le coup retournés n'ont pas de signification.
+     *
+     * @param player Masque des pions du joueur qui a le trait.
+     * @param opponent Masque des pions de l'adversaire.
+     * @param exact true pour le score exact, false pour seulement gain / nulle / perte.
+     * @param deadline Instant (System.nanoTime()) d'abandon, ou Long.MAX_VALUE pour aucune limite.
+     * @return La différence de pions finale du point de vue du joueur (voir {@link #solve(long, long, boolean)}).
+     */
+    public int solve(long player, long opponent, boolean exact, long deadline) {
+        long start = System.nanoTime();
+        this.deadline = deadline;
+        aborted = false;
+        nodes = 0;
+        stabilityCutoffs = 0;
+        bestMove = -1;
+        table.newSearch();
+        int alpha = exact ? -64 : -1;
+        int beta = exact ? 64 : 1;
+        int score;
+
+        long moves = FastReversiBoard.validMoves(player, opponent);
+        if (moves == 0) {
+            // Le joueur doit passer (ou la partie est finie) : aucun coup à choisir
+            score = -search(opponent, player, -beta, -alpha, true);
+        } else {
+            int bestEval = -65;
+            int[] order = orders[64 - Long.bitCount(player | opponent)];
+            int count = fastestFirst(player, opponent, moves, TranspositionTable.NO_MOVE, order);
+            for (int i = 0; i < count && !aborted; i++) {
+                int square = order[i];
+                long flipped = FastReversiBoard.computeFlips(square, player, opponent);
+                long move = 1L << square;
+                int eval = -search(opponent & ~flipped, player | move | flipped, -beta, -alpha, false);
+                if (eval > bestEval) {
+                    bestEval = eval;
+                    bestMove = square;
+                }
+                alpha = Math.max(alpha, eval);
+                if (alpha >= beta) break; // Gain trouvé (mode gain / nulle / perte) ou score maximal
+            }
+            score = bestEval;
+        }
+        elapsedNanos = System.nanoTime() - start;
+        return score;
+    }
+
+    /**
+     * Indique si la dernière résolution a été abandonnée faute de temps.
+     *
+     * @return true si l'échéance a été dépassée.
+     */
+    public boolean isAborted() {
+        return aborted;
+    }
+
+    /**
+     * Retourne le meilleur coup trouvé par la dernière résolution.
+     *
+     * @return L'index du coup (0-63), ou -1 si le joueur ne pouvait pas jouer.
+     */
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    /**
+     * Retourne le nombre de noeuds visités par la dernière résolution.
+     *
+     * @return Le nombre de noeuds.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Retourne le nombre de coupures par stabilité de la dernière résolution.
+     *
+     * @return Le nombre de noeuds coupés grâce aux pions stables de l'adversaire.
+     */
+    public long getStabilityCutoffs() {
+        return stabilityCutoffs;
+    }
+
+    /**
+     * Retourne la durée de la dernière résolution.
+     *
+     * @return La durée en millisecondes.
+     */
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    /**
+     * Différence de pions d'une partie terminée, du point de vue du joueur :
+     * les cases vides reviennent au gagnant.
+     *
+     * @param player Masque des pions du joueur.
+     * @param opponent Masque des pions de l'adversaire.
+     * @return La différence de pions finale (-64 à 64).
+     */
+    public static int finalScore(long player, long opponent) {
+        int diff = Long.bitCount(player) - Long.bitCount(opponent);
+        int empties = 64 - Long.bitCount(player | opponent);
+        if (diff > 0) return diff + empties;
+        if (diff < 0) return diff - empties;
+        return 0;
+    }
+
+    /**
+     * Score d'une partie terminée pour une recherche heuristique : {@link #WIN_SCORE} plus la
+     * différence de pions en cas de gain, son opposé en cas de perte, 0 en cas de nulle.
+     *
+     * @param player Masque des pions du joueur.
+     * @param opponent Masque des pions de l'adversaire.
+     * @return Le score, du point de vue du joueur.
+     */
+    public static int terminalScore(long player, long opponent) {
+        int diff = finalScore(player, opponent);
+        if (diff > 0) return WIN_SCORE + diff;
+        if (diff < 0) return -WIN_SCORE + diff;
+        return 0;
+    }
+
+    /**
+     * Recherche alpha-beta exacte jusqu'à la fin de la partie.
+     *
+     * @param player Masque des pions du joueur qui a le trait.
+     * @param opponent Masque des pions de l'adversaire.
+     * @param alpha Borne inférieure de la fenêtre.
+     * @param beta Borne supérieure de la fenêtre.
+     * @param passed true si l'adversaire vient de passer.
+     * @return La différence de pions finale du point de vue du joueur (exacte dans la fenêtre).
+     */
+    private int search(long player, long opponent, int alpha, int beta, boolean passed) {
+        long empty = ~(player | opponent);
+        int empties = Long.bitCount(empty);
+        if (empties <= 4) return solveSmall(player, opponent, empty, empties, alpha, beta);
+        nodes++;
+        if (aborted) return 0; // Résultat ignoré
+        if ((nodes & CLOCK_CHECK_MASK) == 0 && System.nanoTime() > deadline) {
+            aborted = true;
+            return 0;
+        }
+
+        // Coupure par stabilité : les S pions stables adverses le resteront jusqu'à la fin,
+        // donc le score final ne peut pas dépasser 64 - 2 * S. Le calcul des pions stables
+        // n'est tenté que si alpha est assez haut pour qu'une telle borne puisse couper.
+        if (stabilityCutoff && alpha >= STABILITY_THRESHOLD) {
+            int upper = 64 - 2 * Long.bitCount(FastReversiBoard.stableDiscs(opponent, player));
+            if (upper <= alpha) {
+                stabilityCutoffs++;
+                return upper;
+            }
+        }
+
+        long moves = FastReversiBoard.validMoves(player, opponent);
+        if (moves == 0) {
+            if (passed) return finalScore(player, opponent); // Aucun des deux joueurs ne peut jouer
+            return -search(opponent, player, -beta, -alpha, true);
+        }
+
+        int bestEval = -65;
+        if (empties >= FASTEST_FIRST_EMPTIES) {
+            // Table de transposition : une entrée donne une borne du score exact, quelle que soit sa fenêtre
+            int alphaOrig = alpha;
+            long hash = 0L;
+            int ttMove = TranspositionTable.NO_MOVE;
+            if (empties >= TABLE_EMPTIES) {
+                hash = hash(player, opponent);
+                long entry = table.probe(hash);
+                if (entry != 0) {
+                    int score = TranspositionTable.score(entry);
+                    int bound = TranspositionTable.bound(entry);
+                    if (bound == TranspositionTable.EXACT
+                            || (bound == TranspositionTable.LOWER && score >= beta)
+                            || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                        return score;
+                    }
+                    ttMove = TranspositionTable.move(entry);
+                }
+            }
+
+            int best = TranspositionTable.NO_MOVE;
+            int[] order = orders[empties];
+            int count = fastestFirst(player, opponent, moves, ttMove, order);
+            for (int i = 0; i < count; i++) {
+                int square = order[i];
+                long flipped = FastReversiBoard.computeFlips(square, player, opponent);
+                long nextPlayer = opponent & ~flipped, nextOpponent = player | (1L << square) | flipped;
+                int eval;
+                if (bestEval == -65) {
+                    eval = -search(nextPlayer, nextOpponent, -beta, -alpha, false);
+                } else {
+                    // PVS : les coups suivants sont d'abord réfutés par une fenêtre nulle
+                    eval = -search(nextPlayer, nextOpponent, -alpha - 1, -alpha, false);
+                    if (eval > alpha && eval < beta) eval = -search(nextPlayer, nextOpponent, -beta, -alpha, false);
+                }
+                if (eval > bestEval) {
+                    bestEval = eval;
+                    best = square;
+                    if (eval > alpha) {
+                        alpha = eval;
+                        if (alpha >= beta) break; // Élagage
+                    }
+                }
+            }
+            if (empties >= TABLE_EMPTIES && !aborted) {
+                int bound = (bestEval <= alphaOrig) ? TranspositionTable.UPPER
+                        : (bestEval >= beta) ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+                table.store(hash, empties, bound, bestEval, best);
+            }
+            return bestEval;
+        }
+
+        // Près de la fin : les cases des quadrants impairs d'abord, dans l'ordre des cases
+        long odd = oddQuadrants(empty);
+        for (int pass = 0; pass < 2; pass++) {
+            for (long m = moves & (pass == 0 ? odd : ~odd); m != 0; m &= m - 1) {
+                int square = Long.numberOfTrailingZeros(m);
+                long flipped = FastReversiBoard.computeFlips(square, player, opponent);
+                int eval = -search(opponent & ~flipped, player | (1L << square) | flipped, -beta, -alpha, false);
+                if (eval > bestEval) {
+                    bestEval = eval;
+                    if (eval > alpha) {
+                        alpha = eval;
+                        if (alpha >= beta) return bestEval; // Élagage
+                    }
+                }
+            }
+        }
+        return bestEval;
+    }
+
+    /**
+     * Aiguillage vers la fonction spécialisée du nombre de cases vides restantes (0 à 4).
+     * Les cases vides sont passées en paramètres, celles des quadrants impairs en premier.
+     *
+     * @param player Masque des pions du joueur qui a le trait.
+     * @param opponent Masque des pions de l'adversaire.
+     * @param empty Masque des cases vides.
+     * @param empties Nombre de cases vides (0 à 4).
+     * @param alpha Borne inférieure de la fenêtre.
+     * @param beta Borne supérieure de la fenêtre.
+     * @return La différence de pions finale du point de vue du joueur.
+     */
+    private int solveSmall(long player, long opponent, long empty, int empties, int alpha, int beta) {
+        if (empties == 0) {
+            nodes++;
+            return finalScore(player, opponent);
+        }
+        // Parité : les cases des quadrants impairs passent devant
+        long odd = empty & oddQuadrants(empty);
+        long even = empty & ~odd;
+        int x1 = Long.numberOfTrailingZeros(odd != 0 ? odd : even);
+        if (empties == 1) return solve1(player, opponent, x1);
+        long rest = empty & ~(1L << x1);
+        odd &= rest;
+        int x2 = Long.numberOfTrailingZeros(odd != 0 ? odd : even & rest);
+        if (empties == 2) return solve2(player, opponent, x1, x2, alpha, beta, false);
+        rest &= ~(1L << x2);
+        odd &= rest;
+        int x3 = Long.numberOfTrailingZeros(odd != 0 ? odd : even & rest);
+        if (empties == 3) return solve3(player, opponent, x1, x2, x3, alpha, beta, false);
+        rest &= ~(1L << x3);
+        return solve4(player, opponent, x1, x2, x3, Long.numberOfTrailingZeros(rest), alpha, beta, false);
+    }
+
+    /**
+     * Dernière case vide : le score se déduit du nombre de pions retournés, sans jouer le coup.
+     *
+     * @param player Masque des pions du joueur qui a le trait.
+     * @param opponent Masque des pions de l'adversaire.
+     * @param x La case vide.
+     * @return La différence de pions finale du point de vue du joueur.
+     */
+    private int solve1(long player, long opponent, int x) {
+        nodes++;
+        long flipped = FastReversiBoard.computeFlips(x, player, opponent);
+        if (flipped != 0) return 2 * (Long.bitCount(player) + Long.bitCount(flipped) + 1) - 64;
+        flipped = FastReversiBoard.computeFlips(x, opponent, player);
+        if (flipped != 0) return 64 - 2 * (Long.bitCount(opponent) + Long.bitCount(flipped) + 1);
+        return finalScore(player, opponent); // Personne ne peut jouer la dernière case
+    }
+
+    /**
+     * Deux dernières cases vides.
+     *
+     * @param player Masque des pions du joueur qui a le trait.
+     * @param opponent Masque des pions de l'adversaire.
+     * @param x1 Première case vide (examinée en premier).
+     * @param x2 Seconde case vide.
+     * @param alpha Borne inférieure de la fenêtre.
+     * @param beta Borne supérieure de la fenêtre.
+     * @param passed true si l'adversaire vient de passer.
+     * @return La différence de pions finale du point de vue du joueur.
+     */
+    private int solve2(long player, long opponent, int x1, int x2, int alpha, int beta, boolean passed) {
+        nodes++;
+        int bestEval = -65;
+        long flipped = FastReversiBoard.computeFlips(x1, player, opponent);
+        if (flipped != 0) {
+            bestEval = -solve1(opponent & ~flipped, player | (1L << x1) | flipped, x2);
+            if (bestEval >= beta) return bestEval;
+        }
+        flipped = FastReversiBoard.computeFlips(x2, player, opponent);
+        if (flipped != 0) {
+            bestEval = Math.max(bestEval, -solve1(opponent & ~flipped, player | (1L << x2) | flipped, x1));
+        }
+        if (bestEval > -65) return bestEval;
+
+        // Aucun coup : l'adversaire joue, ou la partie est finie
+        if (passed) return finalScore(player, opponent);
+        return -solve2(opponent, player, x1, x2, -beta, -alpha, true);
+    }
+
+    /**
+     * Trois dernières cases vides.
+     *
+     * @param player Masque des pions du joueur qui a le trait.
+     * @param opponent Masque des pions de l'adversaire.
+     * @param x1 Première case vide (examinée en premier).
+     * @param x2 Deuxième case vide.
+     * @param x3 Troisième case vide.
+     * @param alpha Borne inférieure de la fenêtre.
+     * @param beta Borne supérieure de la fenêtre.
+     * @param passed true si l'adversaire vient de passer.
+     * @return La différence de pions finale du point de vue du joueur.
+     */
+    private int solve3(long player, long opponent, int x1, int x2, int x3, int alpha, int beta, boolean passed) {
+        nodes++;
+        int bestEval = -65;
+        long flipped = FastReversiBoard.computeFlips(x1, player, opponent);
+        if (flipped != 0) {
+            bestEval = -solve2(opponent & ~flipped, player | (1L << x1) | flipped, x2, x3, -beta, -alpha, false);
+            if (bestEval >= beta) return bestEval;
+            alpha = Math.max(alpha, bestEval);
+        }
+        flipped = FastReversiBoard.computeFlips(x2, player, opponent);
+        if (flipped != 0) {
+            int eval = -solve2(opponent & ~flipped, player | (1L << x2) | flipped, x1, x3, -beta, -alpha, false);
+            if (eval >= beta) return eval;
+            bestEval = Math.max(bestEval, eval);
+            alpha = Math.max(alpha, eval);
+        }
+        flipped = FastReversiBoard.computeFlips(x3, player, opponent);
+        if (flipped != 0) {
+            bestEval = Math.max(bestEval, -solve2(opponent & ~flipped, player | (1L << x3) | flipped, x1, x2, -beta, -alpha, false));
+        }
+        if (bestEval > -65) return bestEval;
+
+        if (passed) return finalScore(player, opponent);
+        return -solve3(opponent, player, x1, x2, x3, -beta, -alpha, true);
+    }
+
+    /**
+     * Quatre dernières cases vides.
+     *
+     * @param player Masque des pions du joueur qui a le trait.
+     * @param opponent Masque des pions de l'adversaire.
+     * @param x1 Première case vide (examinée en premier).
+     * @param x2 Deuxième case vide.
+     * @param x3 Troisième case vide.
+     * @param x4 Quatrième case vide.
+     * @param alpha Borne inférieure de la fenêtre.
+     * @param beta Borne supérieure de la fenêtre.
+     * @param passed true si l'adversaire vient de passer.
+     * @return La différence de pions finale du point de vue du joueur.
+     */
+    private int solve4(long player, long opponent, int x1, int x2, int x3, int x4, int alpha, int beta, boolean passed) {
+        nodes++;
+        int bestEval = -65;
+        long flipped = FastReversiBoard.computeFlips(x1, player, opponent);
+        if (flipped != 0) {
+            bestEval = -solve3(opponent & ~flipped, player | (1L << x1) | flipped, x2, x3, x4, -beta, -alpha, false);
+            if (bestEval >= beta) return bestEval;
+            alpha = Math.max(alpha, bestEval);
+        }
+        flipped = FastReversiBoard.computeFlips(x2, player, opponent);
+        if (flipped != 0) {
+            int eval = -solve3(opponent & ~flipped, player | (1L << x2) | flipped, x1, x3, x4, -beta, -alpha, false);
+            if (eval >= beta) return eval;
+            bestEval = Math.max(bestEval, eval);
+            alpha = Math.max(alpha, eval);
+        }
+        flipped = FastReversiBoard.computeFlips(x3, player, opponent);
+        if (flipped != 0) {
+            int eval = -solve3(opponent & ~flipped, player | (1L << x3) | flipped, x1, x2, x4, -beta, -alpha, false);
+            if (eval >= beta) return eval;
+            bestEval = Math.max(bestEval, eval);
+            alpha = Math.max(alpha, eval);
+        }
+        flipped = FastReversiBoard.computeFlips(x4, player, opponent);
+        if (flipped != 0) {
+            bestEval = Math.max(bestEval, -solve3(opponent & ~flipped, player | (1L << x4) | flipped, x1, x2, x3, -beta, -alpha, false));
+        }
+        if (bestEval > -65) return bestEval;
+
+        if (passed) return finalScore(player, opponent);
+        return -solve4(opponent, player, x1, x2, x3, x4, -beta, -alpha, true);
+    }
+
+    /**
+     * Trie les coups en fastest-first : mobilité de l'adversaire croissante après le coup,
+     * ses coups dans les coins comptant double. Le coup de la table de transposition passe devant.
+     *
+     * @param player Masque des pions du joueur qui a le trait.
+     * @param opponent Masque des pions de l'adversaire.
+     * @param moves Masque des coups valides (non vide).
+     * @param ttMove Coup de la table de transposition, ou {@link TranspositionTable#NO_MOVE}.
+     * @param order Reçoit les coups, du plus au moins contraignant pour l'adversaire.
+     * @return Le nombre de coups.
+     */
+    private int fastestFirst(long player, long opponent, long moves, int ttMove, int[] order) {
+        int count = Long.bitCount(moves);
+        for (int i = 0; i < count; i++, moves &= moves - 1) {
+            int square = Long.numberOfTrailingZeros(moves);
+            long flipped = FastReversiBoard.computeFlips(square, player, opponent);
+            long reply = FastReversiBoard.validMoves(opponent & ~flipped, player | (1L << square) | flipped);
+            int key = (square == ttMove) ? -1 : Long.bitCount(reply) + Long.bitCount(reply & CORNERS);
+            // Tri par insertion, par clé croissante
+            int j = i;
+            for (; j > 0 && keys[j - 1] > key; j--) {
+                keys[j] = keys[j - 1];
+                order[j] = order[j - 1];
+            }
+            keys[j] = key;
+            order[j] = square;
+        }
+        return count;
+    }
+
+    /**
+     * Hash d'une position pour la table de transposition de la résolution. Les masques sont ceux
+     * du joueur au trait et de son adversaire : la couleur est sans importance en fin de partie.
+     * Plus rapide qu'un hash de Zobrist recalculé, et sans mise à jour incrémentale à tenir.
+     *
+     * @param player Masque des pions du joueur qui a le trait.
+     * @param opponent Masque des pions de l'adversaire.
+     * @return Le hash sur 64 bits.
+     */
+    private static long hash(long player, long opponent) {
+        long h = player * 0x9E3779B97F4A7C15L ^ Long.rotateLeft(opponent * 0xC2B2AE3D27D4EB4FL, 31);
+        h ^= h >>> 29;
+        h *= 0xBF58476D1CE4E5B9L;
+        return h ^ (h >>> 32);
+    }
+
+    /**
+     * Union des quadrants qui contiennent un nombre impair de cases vides.
+     *
+     * @param empty Masque des cases vides.
+     * @return Le masque des quadrants impairs.
+     */
+    private static long oddQuadrants(long empty) {
+        long odd = 0L;
+        for (long quadrant : QUADRANTS) {
+            if ((Long.bitCount(empty & quadrant) & 1) != 0) odd |= quadrant;
+        }
+        return odd;
+    }
+}
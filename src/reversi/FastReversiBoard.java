@@ -7,12 +7,66 @@ package reversi;
  * Chaque bit représente une case (1 = occupée par la couleur, 0 = vide ou autre couleur).
  */
 public class FastReversiBoard {
+    /** Masque de toutes les cases sauf la colonne A (colonne de gauche, y = 0). */
+    private static final long NOT_A = 0xFEFEFEFEFEFEFEFEL;
+
+    /** Masque de toutes les cases sauf la colonne H (colonne de droite, y = 7). */
+    private static final long NOT_H = 0x7F7F7F7F7F7F7F7FL;
+
     /** Masque binaire des pions noirs. Chaque bit à 1 représente une case occupée par un pion noir. */
     public long black;
     
     /** Masque binaire des pions blancs. Chaque bit à 1 représente une case occupée par un pion blanc. */
     public long white;
 
+    /**
+     * Clés de Zobrist d'un pion noir sur chaque case (64 valeurs pseudo-aléatoires fixes).
+     * Les valeurs sont générées par SplitMix64 à partir d'une graine constante :
+     * elles sont identiques d'une exécution à l'autre, ce qui permet de stocker des hashs dans un fichier.
+     */
+    private static final long[] ZOBRIST_BLACK = new long[64];
+
+    /** Clés de Zobrist d'un pion blanc sur chaque case. */
+    private static final long[] ZOBRIST_WHITE = new long[64];
+
+    /** Clés de retournement : ZOBRIST_BLACK[i] ^ ZOBRIST_WHITE[i] (un pion qui change de couleur). */
+    private static final long[] ZOBRIST_FLIP = new long[64];
+
+    /** Clé de Zobrist ajoutée quand les blancs ont le trait. */
+    static final long ZOBRIST_WHITE_TO_MOVE;
+
+    /**
+     * Clés de pose indexées par couleur (0 : noirs, 1 : blancs), pour les plateaux qui
+     * représentent le trait par un entier plutôt que par un booléen (voir SideToMoveBoard).
+     */
+    static final long[][] ZOBRIST_PLACE = {ZOBRIST_BLACK, ZOBRIST_WHITE};
+
+    static {
+        long seed = 0x5265766572736921L; // Graine fixe
+        for (int i = 0; i < 64; i++) {
+            seed += 0x9E3779B97F4A7C15L;
+            ZOBRIST_BLACK[i] = mix64(seed);
+            seed += 0x9E3779B97F4A7C15L;
+            ZOBRIST_WHITE[i] = mix64(seed);
+            ZOBRIST_FLIP[i] = ZOBRIST_BLACK[i] ^ ZOBRIST_WHITE[i];
+        }
+        seed += 0x9E3779B97F4A7C15L;
+        ZOBRIST_WHITE_TO_MOVE = mix64(seed);
+    }
+
+    /**
+     * Hash de Zobrist des pions (sans le trait), mis à jour de manière incrémentale
+     * par makeMove et undoMove. Les masques black et white ne doivent donc être modifiés
+     * qu'à travers ces méthodes.
+     */
+    private long hash;
+
+    /**
+     * Indices de motifs de l'évaluateur par motifs, mis à jour par makeMove et undoMove.
+     * Null tant que {@link #attachPatterns()} n'a pas été appelé : le coût est alors nul.
+     */
+    private PatternEvaluator.Indices patterns;
+
     /**
      * Constructeur direct avec masques binaires.
      *
@@ -20,33 +74,31 @@ public class FastReversiBoard {
      * @param white Masque binaire des pions blancs.
      */
     public FastReversiBoard(long black, long white) {
+        this(black, white, computeHash(black, white));
+    }
+
+    /**
+     * Constructeur interne utilisé pour les copies (le hash est déjà connu).
+     *
+     * @param black Masque binaire des pions noirs.
+     * @param white Masque binaire des pions blancs.
+     * @param hash Hash de Zobrist des pions.
+     */
+    private FastReversiBoard(long black, long white, long hash) {
         this.black = black;
         this.white = white;
+        this.hash = hash;
     }
 
     /**
      * Convertit un plateau ReversiPlateau standard en représentation binaire optimisée.
+     * ReversiPlateau stockant déjà ses pions sous forme de masques, la conversion
+     * se limite à la lecture de ces deux masques.
      *
      * @param p Le plateau ReversiPlateau à convertir.
      */
     public FastReversiBoard(ReversiPlateau p) {
-        black = 0L;
-        white = 0L;
-        
-        // Parcourt toutes les cases du plateau 8x8
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                // Calcule l'index du bit (0-63)
-                int bitIndex = i * 8 + j;
-                
-                // Met à jour les masques selon la couleur de la case
-                if (p.getEtat(i, j) == Couleurcase.NOIR) {
-                    black |= (1L << bitIndex);  // Met le bit correspondant à 1 pour les noirs
-                } else if (p.getEtat(i, j) == Couleurcase.BLANC) {
-                    white |= (1L << bitIndex);  // Met le bit correspondant à 1 pour les blancs
-                }
-            }
-        }
+        this(p.getNoirs(), p.getBlancs());
     }
 
     /**
@@ -55,7 +107,116 @@ public class FastReversiBoard {
      * @return Une nouvelle instance avec les mêmes masques binaires.
      */
     public FastReversiBoard copy() {
-        return new FastReversiBoard(black, white);
+        FastReversiBoard copy = new FastReversiBoard(black, white, hash);
+        if (patterns != null) copy.patterns = patterns.copy();
+        return copy;
+    }
+
+    /**
+     * Calcule les indices de motifs de la position et les attache au plateau :
+     * ils seront ensuite tenus à jour par makeMove et undoMove.
+     */
+    public void attachPatterns() {
+        patterns = PatternEvaluator.Indices.of(black, white);
+    }
+
+    /**
+     * Retourne les indices de motifs attachés au plateau.
+     *
+     * @return Les indices de motifs, ou null si {@link #attachPatterns()} n'a pas été appelé.
+     */
+    public PatternEvaluator.Indices getPatterns() {
+        return patterns;
+    }
+
+    /**
+     * Retourne le hash de Zobrist de la position, trait compris.
+     * Deux positions identiques avec le même joueur au trait ont toujours le même hash,
+     * ce qui permet de l'utiliser comme clé primitive (long) dans un cache ou une table.
+     *
+     * @param blackTurn true si les noirs ont le trait, false pour les blancs.
+     * @return Le hash de Zobrist sur 64 bits.
+     */
+    public long getHash(boolean blackTurn) {
+        return blackTurn ? hash : hash ^ ZOBRIST_WHITE_TO_MOVE;
+    }
+
+    /**
+     * Calcule entièrement le hash de Zobrist de deux masques (sans le trait).
+     * Sert à l'initialisation ; pendant une recherche le hash est mis à jour de manière incrémentale.
+     *
+     * @param black Masque binaire des pions noirs.
+     * @param white Masque binaire des pions blancs.
+     * @return Le hash de Zobrist des pions.
+     */
+    public static long computeHash(long black, long white) {
+        long h = 0L;
+        for (long b = black; b != 0; b &= b - 1) h ^= ZOBRIST_BLACK[Long.numberOfTrailingZeros(b)];
+        for (long w = white; w != 0; w &= w - 1) h ^= ZOBRIST_WHITE[Long.numberOfTrailingZeros(w)];
+        return h;
+    }
+
+    /**
+     * Calcule entièrement le hash de Zobrist de deux masques, trait compris.
+     *
+     * @param black Masque binaire des pions noirs.
+     * @param white Masque binaire des pions blancs.
+     * @param blackTurn true si les noirs ont le trait.
+     * @return Le hash de Zobrist, identique à {@link #getHash(boolean)} pour la même position.
+     */
+    public static long computeHash(long black, long white, boolean blackTurn) {
+        long h = computeHash(black, white);
+        return blackTurn ? h : h ^ ZOBRIST_WHITE_TO_MOVE;
+    }
+
+    /**
+     * Fonction de mélange de SplitMix64, utilisée pour générer les clés de Zobrist.
+     *
+     * @param z Valeur à mélanger.
+     * @return Valeur pseudo-aléatoire sur 64 bits.
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Mise à jour incrémentale du hash pour un coup joué ou annulé.
+     * Comme XOR est sa propre réciproque, la même opération sert pour makeMove et undoMove.
+     *
+     * @param square Index de la case jouée.
+     * @param flipped Masque des pions retournés.
+     * @param blackTurn true si le coup est joué par les noirs.
+     */
+    private void updateHash(int square, long flipped, boolean blackTurn) {
+        hash ^= (blackTurn ? ZOBRIST_BLACK[square] : ZOBRIST_WHITE[square]) ^ flipKey(flipped);
+    }
+
+    /**
+     * Variation du hash de Zobrist due à des pions qui changent de couleur.
+     *
+     * @param flipped Masque des pions retournés.
+     * @return Le XOR des clés de retournement de ces pions.
+     */
+    static long flipKey(long flipped) {
+        long h = 0L;
+        for (; flipped != 0; flipped &= flipped - 1) {
+            h ^= ZOBRIST_FLIP[Long.numberOfTrailingZeros(flipped)];
+        }
+        return h;
+    }
+
+    /**
+     * Algorithmes disponibles pour la génération des coups valides.
+     * Les deux donnent exactement le même résultat ; le choix sert à les comparer (benchmark, voir Perft).
+     * La recherche utilise toujours Kogge-Stone : le choix est un paramètre des appels, jamais un état global.
+     */
+    public enum MoveGenerator {
+        /** Remplissage "dumb7fill" : 6 itérations successives de décalage par direction. */
+        DUMB7FILL,
+        /** Remplissage par préfixe parallèle (Kogge-Stone), directions opposées traitées par paires. */
+        KOGGE_STONE
     }
 
     /**
@@ -69,27 +230,73 @@ public class FastReversiBoard {
         // Détermine les masques du joueur courant et de l'adversaire
         long my = blackTurn ? black : white;
         long opp = blackTurn ? white : black;
-        
+        return validMoves(my, opp);
+    }
+
+    /**
+     * Calcule les coups valides pour un joueur donné avec un générateur donné.
+     *
+     * @param blackTurn true si c'est le tour des noirs, false pour les blancs.
+     * @param generator Le générateur de coups à utiliser.
+     * @return Masque binaire des coups valides (bits à 1 = coups possibles).
+     */
+    public long getValidMovesBitmask(boolean blackTurn, MoveGenerator generator) {
+        long my = blackTurn ? black : white;
+        long opp = blackTurn ? white : black;
+        return validMoves(my, opp, generator);
+    }
+
+    /**
+     * Calcule les coups valides à partir de deux masques (générateur Kogge-Stone).
+     *
+     * @param my Masque binaire des pions du joueur qui joue.
+     * @param opp Masque binaire des pions de l'adversaire.
+     * @return Masque binaire des coups valides.
+     */
+    public static long validMoves(long my, long opp) {
+        return validMovesKoggeStone(my, opp);
+    }
+
+    /**
+     * Calcule les coups valides à partir de deux masques avec un générateur donné.
+     *
+     * @param my Masque binaire des pions du joueur qui joue.
+     * @param opp Masque binaire des pions de l'adversaire.
+     * @param generator Le générateur de coups à utiliser.
+     * @return Masque binaire des coups valides.
+     */
+    public static long validMoves(long my, long opp, MoveGenerator generator) {
+        if (generator == MoveGenerator.DUMB7FILL) {
+            return validMovesDumb7fill(my, opp);
+        }
+        return validMovesKoggeStone(my, opp);
+    }
+
+    /**
+     * Calcule les coups valides par la méthode "dumb7fill" : pour chaque direction,
+     * la suite de pions adverses est prolongée case par case (6 itérations en série).
+     *
+     * @param my Masque binaire des pions du joueur qui joue.
+     * @param opp Masque binaire des pions de l'adversaire.
+     * @return Masque binaire des coups valides.
+     */
+    public static long validMovesDumb7fill(long my, long opp) {
         // Masque des cases vides (ni noires ni blanches)
         long empty = ~(my | opp);
         long moves = 0L;
 
-        // Masques pour éviter le débordement horizontal (sortie du plateau)
-        long notA = 0xFEFEFEFEFEFEFEFEL; // Tous les bits sauf ceux de la colonne A (colonne de gauche)
-        long notH = 0x7F7F7F7F7F7F7F7FL; // Tous les bits sauf ceux de la colonne H (colonne de droite)
-
         // 8 directions de recherche : Est, Ouest, Sud, Nord, et 4 diagonales
         // Pour chaque direction, on applique des masques pour éviter les débordements
         
-        // 1. Vers la Droite (Est, +1) : nécessite masque notH (ne pas déborder vers la colonne A)
-        long candidates = (my & notH) << 1 & opp;
-        for (int i = 0; i < 6; i++) candidates |= (candidates & notH) << 1 & opp;
-        moves |= (candidates & notH) << 1 & empty;
+        // 1. Vers la Droite (Est, +1) : nécessite masque NOT_H (ne pas déborder vers la colonne A)
+        long candidates = (my & NOT_H) << 1 & opp;
+        for (int i = 0; i < 6; i++) candidates |= (candidates & NOT_H) << 1 & opp;
+        moves |= (candidates & NOT_H) << 1 & empty;
 
-        // 2. Vers la Gauche (Ouest, -1) : nécessite masque notA
-        candidates = (my & notA) >>> 1 & opp;
-        for (int i = 0; i < 6; i++) candidates |= (candidates & notA) >>> 1 & opp;
-        moves |= (candidates & notA) >>> 1 & empty;
+        // 2. Vers la Gauche (Ouest, -1) : nécessite masque NOT_A
+        candidates = (my & NOT_A) >>> 1 & opp;
+        for (int i = 0; i < 6; i++) candidates |= (candidates & NOT_A) >>> 1 & opp;
+        moves |= (candidates & NOT_A) >>> 1 & empty;
 
         // 3. Vers le Bas (Sud, +8) : pas de problème horizontal, seulement vertical
         candidates = (my << 8) & opp;
@@ -101,29 +308,100 @@ public class FastReversiBoard {
         for (int i = 0; i < 6; i++) candidates |= (candidates >>> 8) & opp;
         moves |= (candidates >>> 8) & empty;
 
-        // 5. Diagonale Bas-Droite (Sud-Est, +9) : nécessite notH
-        candidates = (my & notH) << 9 & opp;
-        for (int i = 0; i < 6; i++) candidates |= (candidates & notH) << 9 & opp;
-        moves |= (candidates & notH) << 9 & empty;
+        // 5. Diagonale Bas-Droite (Sud-Est, +9) : nécessite NOT_H
+        candidates = (my & NOT_H) << 9 & opp;
+        for (int i = 0; i < 6; i++) candidates |= (candidates & NOT_H) << 9 & opp;
+        moves |= (candidates & NOT_H) << 9 & empty;
 
-        // 6. Diagonale Haut-Gauche (Nord-Ouest, -9) : nécessite notA
-        candidates = (my & notA) >>> 9 & opp;
-        for (int i = 0; i < 6; i++) candidates |= (candidates & notA) >>> 9 & opp;
-        moves |= (candidates & notA) >>> 9 & empty;
+        // 6. Diagonale Haut-Gauche (Nord-Ouest, -9) : nécessite NOT_A
+        candidates = (my & NOT_A) >>> 9 & opp;
+        for (int i = 0; i < 6; i++) candidates |= (candidates & NOT_A) >>> 9 & opp;
+        moves |= (candidates & NOT_A) >>> 9 & empty;
 
-        // 7. Diagonale Bas-Gauche (Sud-Ouest, +7) : nécessite notA
-        candidates = (my & notA) << 7 & opp;
-        for (int i = 0; i < 6; i++) candidates |= (candidates & notA) << 7 & opp;
-        moves |= (candidates & notA) << 7 & empty;
+        // 7. Diagonale Bas-Gauche (Sud-Ouest, +7) : nécessite NOT_A
+        candidates = (my & NOT_A) << 7 & opp;
+        for (int i = 0; i < 6; i++) candidates |= (candidates & NOT_A) << 7 & opp;
+        moves |= (candidates & NOT_A) << 7 & empty;
 
-        // 8. Diagonale Haut-Droite (Nord-Est, -7) : nécessite notH
-        candidates = (my & notH) >>> 7 & opp;
-        for (int i = 0; i < 6; i++) candidates |= (candidates & notH) >>> 7 & opp;
-        moves |= (candidates & notH) >>> 7 & empty;
+        // 8. Diagonale Haut-Droite (Nord-Est, -7) : nécessite NOT_H
+        candidates = (my & NOT_H) >>> 7 & opp;
+        for (int i = 0; i < 6; i++) candidates |= (candidates & NOT_H) >>> 7 & opp;
+        moves |= (candidates & NOT_H) >>> 7 & empty;
 
         return moves;
     }
 
+    /**
+     * Calcule les coups valides par remplissage Kogge-Stone (préfixe parallèle).
+     * Chaque direction est prolongée en 3 étapes (décalages de 1, 2 puis 4 cases) au lieu de 6,
+     * et les deux sens d'un même axe sont calculés ensemble : les deux chaînes de dépendances
+     * sont indépendantes, ce qui permet au processeur de les exécuter en parallèle.
+     *
+     * @param my Masque binaire des pions du joueur qui joue.
+     * @param opp Masque binaire des pions de l'adversaire.
+     * @return Masque binaire des coups valides.
+     */
+    public static long validMovesKoggeStone(long my, long opp) {
+        long empty = ~(my | opp);
+        long moves;
+
+        // Axe horizontal (Est +1 / Ouest -1) : masques de colonnes sur les cases d'arrivée
+        long proE = opp & NOT_A;
+        long proW = opp & NOT_H;
+        long genE = proE & (my << 1);
+        long genW = proW & (my >>> 1);
+        genE |= proE & (genE << 1);
+        genW |= proW & (genW >>> 1);
+        long proE2 = proE & (proE << 1);
+        long proW2 = proW & (proW >>> 1);
+        genE |= proE2 & (genE << 2);
+        genW |= proW2 & (genW >>> 2);
+        genE |= (proE2 & (proE2 << 2)) & (genE << 4);
+        genW |= (proW2 & (proW2 >>> 2)) & (genW >>> 4);
+        moves = ((genE << 1) & NOT_A) | ((genW >>> 1) & NOT_H);
+
+        // Axe vertical (Sud +8 / Nord -8) : aucun débordement horizontal possible
+        long genS = opp & (my << 8);
+        long genN = opp & (my >>> 8);
+        genS |= opp & (genS << 8);
+        genN |= opp & (genN >>> 8);
+        long proS2 = opp & (opp << 8);
+        long proN2 = opp & (opp >>> 8);
+        genS |= proS2 & (genS << 16);
+        genN |= proN2 & (genN >>> 16);
+        genS |= (proS2 & (proS2 << 16)) & (genS << 32);
+        genN |= (proN2 & (proN2 >>> 16)) & (genN >>> 32);
+        moves |= (genS << 8) | (genN >>> 8);
+
+        // Diagonale principale (Sud-Est +9 / Nord-Ouest -9)
+        long genSE = proE & (my << 9);
+        long genNW = proW & (my >>> 9);
+        genSE |= proE & (genSE << 9);
+        genNW |= proW & (genNW >>> 9);
+        long proSE2 = proE & (proE << 9);
+        long proNW2 = proW & (proW >>> 9);
+        genSE |= proSE2 & (genSE << 18);
+        genNW |= proNW2 & (genNW >>> 18);
+        genSE |= (proSE2 & (proSE2 << 18)) & (genSE << 36);
+        genNW |= (proNW2 & (proNW2 >>> 18)) & (genNW >>> 36);
+        moves |= ((genSE << 9) & NOT_A) | ((genNW >>> 9) & NOT_H);
+
+        // Anti-diagonale (Sud-Ouest +7 / Nord-Est -7)
+        long genSW = proW & (my << 7);
+        long genNE = proE & (my >>> 7);
+        genSW |= proW & (genSW << 7);
+        genNE |= proE & (genNE >>> 7);
+        long proSW2 = proW & (proW << 7);
+        long proNE2 = proE & (proE >>> 7);
+        genSW |= proSW2 & (genSW << 14);
+        genNE |= proNE2 & (genNE >>> 14);
+        genSW |= (proSW2 & (proSW2 << 14)) & (genSW << 28);
+        genNE |= (proNE2 & (proNE2 >>> 14)) & (genNE >>> 28);
+        moves |= ((genSW << 7) & NOT_H) | ((genNE >>> 7) & NOT_A);
+
+        return moves & empty;
+    }
+
     /**
      * Applique un coup sur le plateau (modifie l'état actuel).
      * Place un pion et retourne tous les pions adverses capturés.
@@ -131,42 +409,28 @@ public class FastReversiBoard {
      * @param x Coordonnée x (ligne) du coup (0-7).
      * @param y Coordonnée y (colonne) du coup (0-7).
      * @param blackTurn true si c'est le tour des noirs, false pour les blancs.
+     * @return Masque binaire des pions retournés (à passer à {@link #undoMove}).
      */
-    public void makeMove(int x, int y, boolean blackTurn) {
+    public long makeMove(int x, int y, boolean blackTurn) {
+        return makeMove(x * 8 + y, blackTurn);
+    }
+
+    /**
+     * Applique un coup sur le plateau, sans allocation (modifie l'état actuel).
+     * Le masque retourné permet d'annuler le coup avec {@link #undoMove(int, long, boolean)},
+     * ce qui évite de copier le plateau à chaque noeud d'une recherche.
+     * Le hash de Zobrist est mis à jour à partir de ce même masque.
+     *
+     * @param square Index de la case jouée (0-63, x * 8 + y).
+     * @param blackTurn true si c'est le tour des noirs, false pour les blancs.
+     * @return Masque binaire des pions retournés.
+     */
+    public long makeMove(int square, boolean blackTurn) {
         // Crée le masque pour la case jouée
-        long move = 1L << (x * 8 + y);
-        
-        // Détermine les masques du joueur courant et de l'adversaire
-        long my = blackTurn ? black : white;
-        long opp = blackTurn ? white : black;
-        long flipped = 0L; // Masque des pions à retourner
+        long move = 1L << square;
 
-        // Directions de recherche (4 directions principales, traitées en positif et négatif)
-        long[] dirs = {1, 8, 7, 9}; // Est, Sud, Sud-Ouest, Sud-Est
-        
-        for (long dir : dirs) {
-            // Direction positive (par exemple, vers la droite ou le bas)
-            long mask = 0L;
-            long runner = move << dir; // "Coureur" qui se déplace dans la direction
-            
-            // Tant qu'on rencontre des pions adverses, on les marque comme potentiellement retournables
-            while ((runner & opp) != 0) {
-                mask |= runner;
-                runner <<= dir;
-            }
-            // Si on termine sur un pion allié, tous les pions marqués sont retournables
-            if ((runner & my) != 0) flipped |= mask;
-
-            // Direction négative (opposée)
-            mask = 0L;
-            runner = move >>> dir;
-            
-            while ((runner & opp) != 0) {
-                mask |= runner;
-                runner >>>= dir;
-            }
-            if ((runner & my) != 0) flipped |= mask;
-        }
+        // Calcule les pions à retourner sans allocation ni boucle
+        long flipped = blackTurn ? computeFlips(square, black, white) : computeFlips(square, white, black);
 
         // Applique les modifications selon la couleur du joueur
         if (blackTurn) {
@@ -176,5 +440,478 @@ public class FastReversiBoard {
             white |= (move | flipped);
             black &= ~flipped;
         }
+        updateHash(square, flipped, blackTurn);
+        if (patterns != null) patterns.play(square, flipped, blackTurn);
+        return flipped;
+    }
+
+    /**
+     * Annule un coup joué avec {@link #makeMove(int, boolean)} et restaure la position précédente
+     * (hash de Zobrist compris).
+     *
+     * @param square Index de la case qui avait été jouée (0-63).
+     * @param flipped Masque des pions retournés, tel que renvoyé par makeMove.
+     * @param blackTurn true si le coup annulé avait été joué par les noirs.
+     */
+    public void undoMove(int square, long flipped, boolean blackTurn) {
+        long move = 1L << square;
+        if (blackTurn) {
+            black &= ~(move | flipped); // Retire le pion posé et les pions retournés
+            white |= flipped;           // Rend les pions retournés à l'adversaire
+        } else {
+            white &= ~(move | flipped);
+            black |= flipped;
+        }
+        updateHash(square, flipped, blackTurn);
+        if (patterns != null) patterns.undo(square, flipped, blackTurn);
+    }
+
+    /**
+     * Calcule le masque des pions adverses retournés si le joueur pose un pion sur une case.
+     * Fonction pure : ne modifie aucun plateau et n'alloue aucun objet.
+     * Pour chacune des 8 directions, un remplissage par préfixe parallèle (Kogge-Stone,
+     * 3 étapes de décalage 1, 2 puis 4) propage le pion posé à travers la suite continue
+     * de pions adverses. Les masques de colonnes empêchent tout débordement entre les
+     * colonnes A et H. La direction n'est retenue que si la case suivant cette suite
+     * contient un pion du joueur, ce qui est traduit en masque sans branchement.
+     *
+     * @param square Index de la case jouée (0-63, x * 8 + y).
+     * @param my Masque binaire des pions du joueur qui joue.
+     * @param opp Masque binaire des pions de l'adversaire.
+     * @return Masque binaire des pions adverses à retourner (0 si le coup ne retourne rien).
+     */
+    public static long computeFlips(int square, long my, long opp) {
+        long move = 1L << square;
+        long flipped = 0L;
+        long gen, pro;
+
+        // 1. Vers la Droite (Est, +1) : la case d'arrivée ne peut pas être en colonne A
+        pro = opp & NOT_A;
+        gen = move | (pro & (move << 1));
+        gen |= (pro & (pro << 1)) & (gen << 2);
+        gen |= (pro & (pro << 1) & ((pro & (pro << 1)) << 2)) & (gen << 4);
+        flipped |= capture(gen & ~move, (gen << 1) & NOT_A & my);
+
+        // 2. Vers la Gauche (Ouest, -1) : la case d'arrivée ne peut pas être en colonne H
+        pro = opp & NOT_H;
+        gen = move | (pro & (move >>> 1));
+        gen |= (pro & (pro >>> 1)) & (gen >>> 2);
+        gen |= (pro & (pro >>> 1) & ((pro & (pro >>> 1)) >>> 2)) & (gen >>> 4);
+        flipped |= capture(gen & ~move, (gen >>> 1) & NOT_H & my);
+
+        // 3. Vers le Bas (Sud, +8) : aucun débordement horizontal possible
+        pro = opp;
+        gen = move | (pro & (move << 8));
+        gen |= (pro & (pro << 8)) & (gen << 16);
+        gen |= (pro & (pro << 8) & ((pro & (pro << 8)) << 16)) & (gen << 32);
+        flipped |= capture(gen & ~move, (gen << 8) & my);
+
+        // 4. Vers le Haut (Nord, -8)
+        gen = move | (pro & (move >>> 8));
+        gen |= (pro & (pro >>> 8)) & (gen >>> 16);
+        gen |= (pro & (pro >>> 8) & ((pro & (pro >>> 8)) >>> 16)) & (gen >>> 32);
+        flipped |= capture(gen & ~move, (gen >>> 8) & my);
+
+        // 5. Diagonale Bas-Droite (Sud-Est, +9) : arrivée hors colonne A
+        pro = opp & NOT_A;
+        gen = move | (pro & (move << 9));
+        gen |= (pro & (pro << 9)) & (gen << 18);
+        gen |= (pro & (pro << 9) & ((pro & (pro << 9)) << 18)) & (gen << 36);
+        flipped |= capture(gen & ~move, (gen << 9) & NOT_A & my);
+
+        // 6. Diagonale Haut-Gauche (Nord-Ouest, -9) : arrivée hors colonne H
+        pro = opp & NOT_H;
+        gen = move | (pro & (move >>> 9));
+        gen |= (pro & (pro >>> 9)) & (gen >>> 18);
+        gen |= (pro & (pro >>> 9) & ((pro & (pro >>> 9)) >>> 18)) & (gen >>> 36);
+        flipped |= capture(gen & ~move, (gen >>> 9) & NOT_H & my);
+
+        // 7. Diagonale Bas-Gauche (Sud-Ouest, +7) : arrivée hors colonne H
+        gen = move | (pro & (move << 7));
+        gen |= (pro & (pro << 7)) & (gen << 14);
+        gen |= (pro & (pro << 7) & ((pro & (pro << 7)) << 14)) & (gen << 28);
+        flipped |= capture(gen & ~move, (gen << 7) & NOT_H & my);
+
+        // 8. Diagonale Haut-Droite (Nord-Est, -7) : arrivée hors colonne A
+        pro = opp & NOT_A;
+        gen = move | (pro & (move >>> 7));
+        gen |= (pro & (pro >>> 7)) & (gen >>> 14);
+        gen |= (pro & (pro >>> 7) & ((pro & (pro >>> 7)) >>> 14)) & (gen >>> 28);
+        flipped |= capture(gen & ~move, (gen >>> 7) & NOT_A & my);
+
+        return flipped;
+    }
+
+    /**
+     * Retourne la suite de pions adverses d'une direction si elle est encadrée, 0 sinon.
+     * {@code (bound | -bound) >> 63} vaut -1 (tous les bits à 1) si bound est non nul,
+     * et 0 sinon : la sélection se fait donc sans branchement.
+     *
+     * @param run Suite continue de pions adverses partant de la case jouée.
+     * @param bound Pion du joueur situé juste après la suite (0 s'il n'y en a pas).
+     * @return run si la suite est encadrée par un pion du joueur, 0 sinon.
+     */
+    private static long capture(long run, long bound) {
+        return run & ((bound | -bound) >> 63);
+    }
+
+    // ------------------------------------------------------------------
+    // Pions stables
+    // ------------------------------------------------------------------
+
+    /** Masque des cases du bord du plateau (première et dernière lignes et colonnes). */
+    private static final long BORDER = 0xFF818181818181FFL;
+
+    /** Masques des 15 diagonales parallèles à A1-H8 (direction +9, x - y constant). */
+    private static final long[] DIAGONALS = new long[15];
+
+    /** Masques des 15 anti-diagonales parallèles à H1-A8 (direction +7, x + y constant). */
+    private static final long[] ANTI_DIAGONALS = new long[15];
+
+    static {
+        for (int sq = 0; sq < 64; sq++) {
+            int x = sq >>> 3, y = sq & 7;
+            DIAGONALS[x - y + 7] |= 1L << sq;
+            ANTI_DIAGONALS[x + y] |= 1L << sq;
+        }
+    }
+
+    /**
+     * Calcule les pions stables du joueur : ceux qui ne pourront plus jamais être retournés.
+     * Un pion est stable si, sur chacun des 4 axes (ligne, colonne, deux diagonales),
+     * la ligne qui le traverse est pleine, ou il est au bord du plateau dans cet axe,
+     * ou il touche dans cet axe un pion stable de sa couleur. La propagation part donc
+     * des coins, des lignes pleines et des pions de bord stables (exacts, lus dans {@link EdgeTable}),
+     * jusqu'à un point fixe.
+     * Le résultat est une borne inférieure : certains pions réellement stables peuvent manquer.
+     *
+     * @param my Masque des pions du joueur.
+     * @param opp Masque des pions adverses.
+     * @return Le masque des pions stables du joueur.
+     */
+    public static long stableDiscs(long my, long opp) {
+        long occupied = my | opp;
+        long fullRows = fullLines(occupied, 0);
+        long fullCols = fullLines(occupied, 1);
+        long edges = EdgeTable.stableEdges(my, opp) & my;
+
+        // Toute chaîne de pions stables s'appuie sur un pion de bord stable (les coins du joueur en font partie)
+        // ou sur une ligne ou colonne pleine : en début de partie, on évite ainsi les diagonales et la propagation
+        if (edges == 0 && (fullRows | fullCols) == 0) return 0L;
+
+        long fullDiag = fullLines(occupied, 2);
+        long fullAnti = fullLines(occupied, 3);
+
+        // Cases protégées sur chaque axe indépendamment des voisins
+        long horizontal = fullRows | 0x8181818181818181L;
+        long vertical = fullCols | 0xFF000000000000FFL;
+        long diagonal = fullDiag | BORDER;
+        long antiDiagonal = fullAnti | BORDER;
+
+        long stable = edges;
+        long previous;
+        do {
+            previous = stable;
+            long h = horizontal | ((stable << 1) & NOT_A) | ((stable >>> 1) & NOT_H);
+            long v = vertical | (stable << 8) | (stable >>> 8);
+            long d = diagonal | ((stable << 9) & NOT_A) | ((stable >>> 9) & NOT_H);
+            long a = antiDiagonal | ((stable << 7) & NOT_H) | ((stable >>> 7) & NOT_A);
+            stable = edges | (my & h & v & d & a);
+        } while (stable != previous);
+
+        return stable;
+    }
+
+    /**
+     * Calcule le masque des lignes entièrement occupées selon un axe.
+     * Les lignes et colonnes sont traitées par décalages (sans boucle),
+     * les diagonales à l'aide des masques précalculés.
+     *
+     * @param occupied Masque des cases occupées.
+     * @param axis 0 : lignes, 1 : colonnes, 2 : diagonales (+9), 3 : anti-diagonales (+7).
+     * @return L'union des lignes pleines de l'axe demandé.
+     */
+    private static long fullLines(long occupied, int axis) {
+        switch (axis) {
+            case 0: {
+                // Le bit de la colonne A de chaque ligne reçoit le ET des 8 cases de la ligne
+                long r = occupied;
+                r &= r >>> 4;
+                r &= r >>> 2;
+                r &= r >>> 1;
+                return (r & 0x0101010101010101L) * 0xFFL;
+            }
+            case 1: {
+                // Le ET de toutes les rotations par lignes entières donne les colonnes pleines
+                long c = occupied & Long.rotateRight(occupied, 8);
+                c &= Long.rotateRight(c, 16);
+                c &= Long.rotateRight(c, 32);
+                return c;
+            }
+            default: {
+                long[] lines = (axis == 2) ? DIAGONALS : ANTI_DIAGONALS;
+                long full = 0L;
+                for (long line : lines) {
+                    if ((occupied & line) == line) full |= line;
+                }
+                return full;
+            }
+        }
+    }
+
+    /**
+     * Calcule les pions stables d'une couleur sur ce plateau.
+     *
+     * @param blackPlayer true pour les pions noirs, false pour les pions blancs.
+     * @return Le masque des pions stables de cette couleur.
+     */
+    public long getStableDiscs(boolean blackPlayer) {
+        return blackPlayer ? stableDiscs(black, white) : stableDiscs(white, black);
+    }
+
+    // ------------------------------------------------------------------
+    // Frontière et mobilité potentielle
+    // ------------------------------------------------------------------
+
+    /**
+     * Calcule l'ensemble des cases voisines (dans les 8 directions) d'un ensemble de cases.
+     * Les décalages horizontaux et diagonaux sont masqués pour ne pas déborder d'une ligne à l'autre.
+     *
+     * @param mask Masque des cases de départ.
+     * @return Le masque des cases adjacentes à au moins une case du masque.
+     */
+    public static long neighbours(long mask) {
+        long horizontal = ((mask << 1) & NOT_A) | ((mask >>> 1) & NOT_H);
+        long row = mask | horizontal;
+        // Les diagonales sont les décalages verticaux de la ligne élargie
+        return horizontal | (row << 8) | (row >>> 8);
+    }
+
+    /**
+     * Calcule les pions de frontière du joueur : ceux qui touchent au moins une case vide.
+     * Un joueur avec peu de pions de frontière offre peu de coups à son adversaire.
+     *
+     * @param my Masque des pions du joueur.
+     * @param opp Masque des pions adverses.
+     * @return Le masque des pions de frontière du joueur.
+     */
+    public static long frontierDiscs(long my, long opp) {
+        return my & neighbours(~(my | opp));
+    }
+
+    /**
+     * Calcule la mobilité potentielle du joueur : le nombre de cases vides adjacentes
+     * à au moins un pion adverse (cases où un coup pourra devenir possible).
+     *
+     * @param my Masque des pions du joueur.
+     * @param opp Masque des pions adverses.
+     * @return Le nombre de cases vides voisines des pions adverses.
+     */
+    public static int potentialMobility(long my, long opp) {
+        return Long.bitCount(~(my | opp) & neighbours(opp));
+    }
+
+    // ------------------------------------------------------------------
+    // Symétries du plateau
+    // ------------------------------------------------------------------
+
+    /**
+     * Nombre de symétries du carré (groupe diédral) : les transformations sont numérotées de 0 à 7.
+     * Bit 2 : symétrie diagonale (appliquée en premier), bit 1 : symétrie verticale,
+     * bit 0 : symétrie horizontale (appliquée en dernier). La transformation 0 est l'identité.
+     */
+    public static final int SYMMETRIES = 8;
+
+    /** Pour chaque transformation, l'index de la transformation réciproque. */
+    private static final int[] INVERSE_TRANSFORM = new int[SYMMETRIES];
+
+    static {
+        // Une position sans aucune symétrie permet d'identifier chaque réciproque
+        long probe = 0x0000000000000107L;
+        for (int t = 0; t < SYMMETRIES; t++) {
+            for (int u = 0; u < SYMMETRIES; u++) {
+                if (transform(transform(probe, t), u) == probe) INVERSE_TRANSFORM[t] = u;
+            }
+        }
+    }
+
+    /**
+     * Symétrie verticale (haut/bas) : la ligne x devient la ligne 7 - x.
+     *
+     * @param b Masque binaire.
+     * @return Le masque transformé.
+     */
+    public static long flipVertical(long b) {
+        return Long.reverseBytes(b); // Chaque octet est une ligne
+    }
+
+    /**
+     * Symétrie horizontale (gauche/droite) : la colonne y devient la colonne 7 - y.
+     * Les bits sont inversés à l'intérieur de chaque octet en 3 échanges (1, 2 puis 4 bits).
+     *
+     * @param b Masque binaire.
+     * @return Le masque transformé.
+     */
+    public static long flipHorizontal(long b) {
+        b = ((b >>> 1) & 0x5555555555555555L) | ((b & 0x5555555555555555L) << 1);
+        b = ((b >>> 2) & 0x3333333333333333L) | ((b & 0x3333333333333333L) << 2);
+        b = ((b >>> 4) & 0x0F0F0F0F0F0F0F0FL) | ((b & 0x0F0F0F0F0F0F0F0FL) << 4);
+        return b;
+    }
+
+    /**
+     * Symétrie selon la diagonale principale (A1-H8) : la case (x, y) devient (y, x).
+     * Transposition en 3 échanges de blocs (4x4, 2x2 puis 1x1).
+     *
+     * @param b Masque binaire.
+     * @return Le masque transformé.
+     */
+    public static long flipDiagonal(long b) {
+        long t;
+        t = 0x0F0F0F0F00000000L & (b ^ (b << 28));
+        b ^= t ^ (t >>> 28);
+        t = 0x3333000033330000L & (b ^ (b << 14));
+        b ^= t ^ (t >>> 14);
+        t = 0x5500550055005500L & (b ^ (b << 7));
+        b ^= t ^ (t >>> 7);
+        return b;
+    }
+
+    /**
+     * Applique l'une des 8 symétries à un masque binaire (voir {@link #SYMMETRIES}).
+     * Les rotations s'obtiennent par composition : par exemple 6 (diagonale puis verticale)
+     * est une rotation d'un quart de tour.
+     *
+     * @param b Masque binaire.
+     * @param transform Index de la transformation (0-7).
+     * @return Le masque transformé.
+     */
+    public static long transform(long b, int transform) {
+        if ((transform & 4) != 0) b = flipDiagonal(b);
+        if ((transform & 2) != 0) b = flipVertical(b);
+        if ((transform & 1) != 0) b = flipHorizontal(b);
+        return b;
+    }
+
+    /**
+     * Retourne l'index de la n-ième case d'un masque (dans l'ordre des index croissants),
+     * par exemple pour tirer un coup au hasard dans un masque de coups valides.
+     *
+     * @param mask Masque binaire (non vide).
+     * @param n Rang de la case, de 0 à Long.bitCount(mask) - 1.
+     * @return Index de la case (0-63).
+     */
+    public static int nthSquare(long mask, int n) {
+        // Efface les n bits à 1 de poids faible
+        for (; n > 0; n--) {
+            mask &= mask - 1;
+        }
+        return Long.numberOfTrailingZeros(mask);
+    }
+
+    /**
+     * Retourne la transformation réciproque : transform(transform(b, t), inverseTransform(t)) == b.
+     *
+     * @param transform Index de la transformation (0-7).
+     * @return Index de la transformation réciproque.
+     */
+    public static int inverseTransform(int transform) {
+        return INVERSE_TRANSFORM[transform];
+    }
+
+    /**
+     * Applique une symétrie à un index de case (utile pour ramener un coup dans le repère d'origine).
+     *
+     * @param square Index de la case (0-63).
+     * @param transform Index de la transformation (0-7).
+     * @return Index de la case transformée.
+     */
+    public static int transformSquare(int square, int transform) {
+        return Long.numberOfTrailingZeros(transform(1L << square, transform));
+    }
+
+    /**
+     * Crée une copie de ce plateau à laquelle une symétrie est appliquée.
+     *
+     * @param transform Index de la transformation (0-7).
+     * @return Le nouveau plateau transformé.
+     */
+    public FastReversiBoard transform(int transform) {
+        return new FastReversiBoard(transform(black, transform), transform(white, transform));
+    }
+
+    /**
+     * Calcule le représentant canonique de la position parmi ses 8 images par symétrie :
+     * celle dont le couple (black, white) est le plus petit (comparaison non signée).
+     * Deux positions symétriques l'une de l'autre ont donc le même représentant, ce qui permet
+     * à un livre d'ouvertures, un cache ou une table de déduplication de partager leurs entrées.
+     *
+     * @return Le représentant canonique et la transformation qui y mène.
+     */
+    public Canonical canonical() {
+        return canonical(black, white);
+    }
+
+    /**
+     * Calcule le représentant canonique d'une position donnée par ses deux masques.
+     *
+     * @param black Masque binaire des pions noirs.
+     * @param white Masque binaire des pions blancs.
+     * @return Le représentant canonique et la transformation qui y mène.
+     */
+    public static Canonical canonical(long black, long white) {
+        long bestBlack = black;
+        long bestWhite = white;
+        int bestTransform = 0;
+        for (int t = 1; t < SYMMETRIES; t++) {
+            long b = transform(black, t);
+            int cmp = Long.compareUnsigned(b, bestBlack);
+            if (cmp > 0) continue;
+            long w = transform(white, t);
+            if (cmp < 0 || Long.compareUnsigned(w, bestWhite) < 0) {
+                bestBlack = b;
+                bestWhite = w;
+                bestTransform = t;
+            }
+        }
+        return new Canonical(bestBlack, bestWhite, bestTransform);
+    }
+
+    /**
+     * Représentant canonique d'une position (résultat de {@link #canonical()}).
+     */
+    public static class Canonical {
+        /** Masque des pions noirs du représentant canonique. */
+        public final long black;
+
+        /** Masque des pions blancs du représentant canonique. */
+        public final long white;
+
+        /** Transformation appliquée à la position d'origine pour obtenir ce représentant. */
+        public final int transform;
+
+        /**
+         * Constructeur.
+         *
+         * @param black Masque des pions noirs.
+         * @param white Masque des pions blancs.
+         * @param transform Transformation utilisée (0-7).
+         */
+        Canonical(long black, long white, int transform) {
+            this.black = black;
+            this.white = white;
+            this.transform = transform;
+        }
+
+        /**
+         * Hash de Zobrist du représentant canonique, trait compris :
+         * identique pour toutes les positions symétriques.
+         *
+         * @param blackTurn true si les noirs ont le trait.
+         * @return Le hash de Zobrist canonique.
+         */
+        public long getHash(boolean blackTurn) {
+            return computeHash(black, white, blackTurn);
+        }
     }
 }
@@ -0,0 +1,435 @@
+package reversi;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+
+/**
+ * Recherche alpha-beta parallèle à profondeur fixe, selon le schéma "Young Brothers Wait" :
+ * à chaque noeud, le fils aîné (le coup supposé le meilleur) est cherché seul, puis ses frères
+ * cadets sont cherchés en parallèle sous forme de tâches {@link RecursiveTask} d'un {@link ForkJoinPool}.
+ * Attendre l'aîné fournit aux cadets une fenêtre déjà resserrée, ce qui limite le travail inutile.
+ *
+ * Seuls les noeuds dont la profondeur restante atteint le seuil de partage sont parallélisés ;
+ * en dessous, la recherche est séquentielle sur le thread de la tâche. Les cadets sont cherchés
+ * avec une fenêtre nulle (comme en PVS) puis recherchés avec la fenêtre complète s'ils la dépassent.
+ * Quand un cadet provoque une coupure, ses frères encore en cours sont abandonnés : chaque point
+ * de partage porte un drapeau d'abandon, consulté par toutes les tâches qui en descendent.
+ *
+ * Avec une table de transposition, la racine procède par approfondissement itératif : chaque
+ * itération place en tête de chaque noeud le meilleur coup de la précédente, indispensable pour
+ * que le fils aîné soit bien le meilleur. Sans table, le score obtenu est exactement celui d'une
+ * recherche alpha-beta séquentielle de même profondeur ; seul le choix entre coups de même score
+ * peut varier d'une exécution à l'autre.
+ *
+ * Les coups sont triés dans des tampons alloués une fois par tâche (un tableau par profondeur
+ * restante) : la recherche n'alloue pas à chaque noeud. La fenêtre nulle et le tri des coups
+ * peuvent être désactivés comme dans AlphaBetaBotRapide ({@link #withPvs(boolean)},
+ * {@link #withMoveOrdering(boolean)}) ; ProbCut, les coups killer et l'historique ne s'appliquent pas
+ * ici, la recherche restant exacte et sans état partagé autre que la table de transposition.
+ */
+public class ForkJoinSearch {
+
+    /** Borne des scores (fenêtre initiale). */
+    private static final int INFINITY = Integer.MAX_VALUE;
+
+    /** Masque binaire des quatre coins. */
+    private static final long CORNERS = 0x8100000000000081L;
+
+    /** Masque binaire des cases X (diagonales aux coins). */
+    private static final long X_SQUARES = 0x0042000000004200L;
+
+    /** Profondeur restante à partir de laquelle les coups sont triés par mobilité adverse croissante. */
+    private static final int MOBILITY_ORDER_DEPTH = 3;
+
+    /** Pool de threads qui exécute les tâches. */
+    private final ForkJoinPool pool;
+
+    /** Profondeur restante à partir de laquelle un noeud répartit ses fils cadets entre les threads. */
+    private final int splitDepth;
+
+    /** Évaluation heuristique d'une feuille, du point de vue du joueur qui a le trait. */
+    private final ToIntFunction<SideToMoveBoard> evaluator;
+
+    /** Table de transposition partagée par les threads (sans verrou), ou null. */
+    private final TranspositionTable table;
+
+    /** Nombre de noeuds visités par la recherche en cours, tous threads confondus. */
+    private final LongAdder nodes = new LongAdder();
+
+    /** Score du meilleur coup de la dernière recherche. */
+    private int score;
+
+    /** true pour chercher les fils cadets avec une fenêtre nulle (PVS). */
+    private boolean pvs = true;
+
+    /** true pour trier les coups (coins, mobilité adverse, cases X) après le coup de la table. */
+    private boolean moveOrdering = true;
+
+    /**
+     * Tampons de tri des coups d'une tâche : un tableau de coups par profondeur restante,
+     * et un tableau de clés partagé (il ne sert que pendant le tri d'un noeud).
+     * Un noeud de profondeur d n'écrit que dans le tableau d, que ses descendants ne touchent pas.
+     */
+    private static final class Buffers {
+        /** Coups triés : [profondeur restante][rang]. */
+        final int[][] order;
+
+        /** Clés de tri des coups du noeud en cours de tri. */
+        final int[] keys = new int[64];
+
+        /**
+         * Constructeur.
+         *
+         * @param depth Profondeur restante maximale d'un noeud de la tâche.
+         */
+        Buffers(int depth) {
+            order = new int[depth + 1][64];
+        }
+    }
+
+    /**
+     * Point de partage : noeud dont les fils cadets sont cherchés en parallèle.
+     * Son drapeau d'abandon est levé quand un fils provoque une coupure ; les tâches
+     * qui en descendent remontent la chaîne des points de partage pour le savoir.
+     */
+    private static final class Split {
+        /** Point de partage englobant, ou null à la racine. */
+        final Split parent;
+
+        /** Levé quand le résultat du noeud est connu (coupure) ou n'est plus utile. */
+        volatile boolean aborted;
+
+        /**
+         * Constructeur.
+         *
+         * @param parent Point de partage englobant, ou null.
+         */
+        Split(Split parent) {
+            this.parent = parent;
+        }
+
+        /**
+         * Indique si ce point de partage ou l'un de ses ancêtres a été abandonné.
+         *
+         * @return true si la recherche en cours sous ce point est inutile.
+         */
+        boolean isAborted() {
+            for (Split split = this; split != null; split = split.parent) {
+                if (split.aborted) return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Recherche d'un fils cadet, exécutée par un thread du pool sur sa propre copie du plateau.
+     * Le résultat est donné du point de vue du noeud père (déjà négativé), ou null si la tâche
+     * a été abandonnée avant d'aboutir.
+     */
+    private final class SiblingTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        /** Plateau après le coup du fils (copie propre à la tâche). */
+        private final SideToMoveBoard board;
+
+        /** Profondeur restante du fils. */
+        private final int depth;
+
+        /** Fenêtre du père pour ce fils. */
+        private final int alpha, beta;
+
+        /** Borne beta du père : un score qui l'atteint coupe le père. */
+        private final int cutoff;
+
+        /** Point de partage du père. */
+        private final Split split;
+
+        /**
+         * Constructeur.
+         *
+         * @param board Plateau après le coup du fils.
+         * @param depth Profondeur restante du fils.
+         * @param alpha Borne inférieure de la fenêtre, du point de vue du père.
+         * @param beta Borne supérieure de la fenêtre, du point de vue du père.
+         * @param cutoff Borne beta du père.
+         * @param split Point de partage du père.
+         */
+        SiblingTask(SideToMoveBoard board, int depth, int alpha, int beta, int cutoff, Split split) {
+            this.board = board;
+            this.depth = depth;
+            this.alpha = alpha;
+            this.beta = beta;
+            this.cutoff = cutoff;
+            this.split = split;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (split.isAborted()) return null;
+            int eval = -search(board, depth, -beta, -alpha, split, null, new Buffers(depth));
+            // Le drapeau n'est jamais baissé : s'il est levé, la recherche a pu être interrompue
+            if (split.isAborted()) return null;
+            if (eval >= cutoff) split.aborted = true; // Coupure : les frères sont inutiles
+            return eval;
+        }
+    }
+
+    /**
+     * Constructeur.
+     *
+     * @param pool Pool de threads qui exécute les tâches.
+     * @param splitDepth Profondeur restante minimale d'un noeud parallélisé (au moins 1).
+     * @param evaluator Évaluation d'une feuille, du point de vue du joueur qui a le trait.
+     * @param table Table de transposition partagée, ou null.
+     */
+    public ForkJoinSearch(ForkJoinPool pool, int splitDepth, ToIntFunction<SideToMoveBoard> evaluator,
+                          TranspositionTable table) {
+        this.pool = pool;
+        this.splitDepth = Math.max(1, splitDepth);
+        this.evaluator = evaluator;
+        this.table = table;
+    }
+
+    /**
+     * Active ou désactive la fenêtre nulle des fils cadets (PVS). Sans elle, les cadets
+     * sont cherchés avec la fenêtre complète et ne sont jamais recherchés.
+     *
+     * @param enabled true pour la fenêtre nulle.
+     * @return Cette recherche, pour chaîner la configuration après le constructeur.
+     */
+    public ForkJoinSearch withPvs(boolean enabled) {
+        this.pvs = enabled;
+        return this;
+    }
+
+    /**
+     * Active ou désactive le tri des coups. Sans tri, seul le coup de la table de transposition
+     * passe en premier ; les autres suivent l'ordre des cases.
+     *
+     * @param enabled true pour trier les coups.
+     * @return Cette recherche, pour chaîner la configuration après le constructeur.
+     */
+    public ForkJoinSearch withMoveOrdering(boolean enabled) {
+        this.moveOrdering = enabled;
+        return this;
+    }
+
+    /**
+     * Cherche le meilleur coup d'une position à profondeur fixe.
+     *
+     * @param board Le plateau normalisé, du point de vue du joueur qui a le trait (non modifié).
+     * @param depth Profondeur de recherche (au moins 1).
+     * @return L'index du meilleur coup, ou -1 si le joueur ne peut pas jouer.
+     */
+    public int search(SideToMoveBoard board, int depth) {
+        nodes.reset();
+        if (board.getValidMoves() == 0) return -1;
+        if (table != null) table.newSearch();
+        SideToMoveBoard root = board.copy();
+        int[] bestMove = {-1};
+        int lastDepth = Math.max(1, depth);
+        Buffers buffers = new Buffers(lastDepth);
+        for (int d = (table != null) ? 1 : lastDepth; d <= lastDepth; d++) {
+            int iterationDepth = d;
+            score = pool.invoke(new RecursiveTask<Integer>() {
+                @Override
+                protected Integer compute() {
+                    return search(root, iterationDepth, -INFINITY, INFINITY, null, bestMove, buffers);
+                }
+            });
+        }
+        return bestMove[0];
+    }
+
+    /**
+     * Retourne le score du meilleur coup de la dernière recherche.
+     *
+     * @return Le score, du point de vue du joueur qui avait le trait.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Retourne le nombre de noeuds visités par la dernière recherche.
+     *
+     * @return Le nombre de noeuds, tous threads confondus.
+     */
+    public long getNodes() {
+        return nodes.sum();
+    }
+
+    /**
+     * Recherche alpha-beta negamax d'un noeud. Au-delà du seuil de partage, le fils aîné est
+     * cherché sur le thread courant puis les cadets sont confiés au pool ; en deçà, tous les fils
+     * sont cherchés séquentiellement, en PVS.
+     *
+     * @param board Le plateau (modifié puis restauré par la recherche).
+     * @param depth Profondeur restante.
+     * @param alpha Borne inférieure de la fenêtre.
+     * @param beta Borne supérieure de la fenêtre.
+     * @param split Point de partage englobant (pour l'abandon), ou null à la racine.
+     * @param bestMove Reçoit le meilleur coup en case 0 (racine seulement), ou null.
+     * @param buffers Tampons de tri de la tâche en cours.
+     * @return Le score du noeud du point de vue du joueur qui a le trait
+     *         (sans signification si le point de partage a été abandonné).
+     */
+    private int search(SideToMoveBoard board, int depth, int alpha, int beta, Split split, int[] bestMove,
+                       Buffers buffers) {
+        nodes.increment();
+        if (split != null && split.isAborted()) return 0; // Résultat ignoré par le père
+
+        if (depth == 0) return evaluator.applyAsInt(board);
+
+        long moves = board.getValidMoves();
+        if (moves == 0) {
+            if (board.getOpponentValidMoves() == 0) {
+                return EndgameSolver.terminalScore(board.player, board.opponent); // Résultat exact de la partie
+            }
+            board.pass();
+            int eval = -search(board, depth - 1, -beta, -alpha, split, null, buffers);
+            board.pass();
+            return eval;
+        }
+
+        // Table de transposition : coupure, ou meilleur coup d'une recherche précédente en premier
+        int alphaOrig = alpha;
+        long hash = 0L;
+        int ttMove = TranspositionTable.NO_MOVE;
+        if (table != null) {
+            hash = board.getHash();
+            long entry = table.probe(hash);
+            if (entry != 0) {
+                ttMove = TranspositionTable.move(entry);
+                if (bestMove == null && TranspositionTable.depth(entry) >= depth) {
+                    int ttScore = TranspositionTable.score(entry);
+                    int bound = TranspositionTable.bound(entry);
+                    if (bound == TranspositionTable.EXACT
+                            || (bound == TranspositionTable.LOWER && ttScore >= beta)
+                            || (bound == TranspositionTable.UPPER && ttScore <= alpha)) {
+                        table.countCutoff();
+                        return ttScore;
+                    }
+                }
+            }
+        }
+        int[] order = buffers.order[depth];
+        int count = orderMoves(board, moves, ttMove, depth, order, buffers.keys);
+
+        // Fils aîné : toujours cherché seul, avec la fenêtre complète
+        int square = order[0];
+        long flipped = board.makeMove(square);
+        int bestEval = -search(board, depth - 1, -beta, -alpha, split, null, buffers);
+        board.undoMove(square, flipped);
+        int best = square;
+        alpha = Math.max(alpha, bestEval);
+
+        if (alpha < beta && count > 1) {
+            if (depth >= splitDepth) {
+                // Frères cadets : cherchés en parallèle avec une fenêtre nulle autour de alpha (ou la fenêtre complète sans PVS)
+                Split children = new Split(split);
+                SiblingTask[] tasks = new SiblingTask[count - 1];
+                for (int i = 0; i < tasks.length; i++) {
+                    SideToMoveBoard child = board.copy();
+                    child.makeMove(order[i + 1]);
+                    tasks[i] = new SiblingTask(child, depth - 1, alpha, pvs ? alpha + 1 : beta, beta, children);
+                }
+                for (int i = tasks.length - 1; i > 0; i--) tasks[i].fork();
+                int forkAlpha = alpha;
+                Integer[] evals = new Integer[tasks.length];
+                evals[0] = tasks[0].compute();
+                for (int i = 1; i < tasks.length; i++) evals[i] = tasks[i].join();
+                if (split != null && split.isAborted()) return 0;
+
+                // Les cadets qui dépassent la fenêtre nulle sont recherchés, dans l'ordre, avec la vraie fenêtre ;
+                // après une coupure, les cadets abandonnés (null) sont ignorés
+                for (int i = 0; i < evals.length && alpha < beta; i++) {
+                    if (evals[i] == null) continue;
+                    int eval = evals[i];
+                    square = order[i + 1];
+                    if (pvs && eval > forkAlpha && eval < beta) {
+                        flipped = board.makeMove(square);
+                        eval = -search(board, depth - 1, -beta, -alpha, split, null, buffers);
+                        board.undoMove(square, flipped);
+                    }
+                    if (eval > bestEval) {
+                        bestEval = eval;
+                        best = square;
+                    }
+                    alpha = Math.max(alpha, eval);
+                }
+            } else {
+                // Sous le seuil de partage : recherche séquentielle en PVS
+                for (int i = 1; i < count; i++) {
+                    square = order[i];
+                    flipped = board.makeMove(square);
+                    int eval;
+                    if (pvs) {
+                        eval = -search(board, depth - 1, -alpha - 1, -alpha, split, null, buffers);
+                        if (eval > alpha && eval < beta) eval = -search(board, depth - 1, -beta, -alpha, split, null, buffers);
+                    } else {
+                        eval = -search(board, depth - 1, -beta, -alpha, split, null, buffers);
+                    }
+                    board.undoMove(square, flipped);
+                    if (eval > bestEval) {
+                        bestEval = eval;
+                        best = square;
+                    }
+                    alpha = Math.max(alpha, eval);
+                    if (alpha >= beta) break; // Élagage
+                }
+            }
+        }
+
+        // Un résultat abandonné n'est pas fiable : il n'est pas enregistré
+        if (split != null && split.isAborted()) return 0;
+        if (table != null) {
+            int bound = (bestEval <= alphaOrig) ? TranspositionTable.UPPER
+                    : (bestEval >= beta) ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+            table.store(hash, depth, bound, bestEval, best);
+        }
+        if (bestMove != null) bestMove[0] = best;
+        return bestEval;
+    }
+
+    /**
+     * Trie les coups d'un noeud : coup de la table de transposition d'abord, puis coins, puis,
+     * aux noeuds d'au moins {@value #MOBILITY_ORDER_DEPTH} niveaux restants, les coups qui laissent
+     * le moins de coups à l'adversaire, et enfin les cases X. Sans tri des coups, seul le coup
+     * de la table est déplacé en tête.
+     *
+     * @param board Le plateau (restauré après les coups d'essai).
+     * @param moves Masque des coups valides (non vide).
+     * @param ttMove Coup de la table de transposition, ou {@link TranspositionTable#NO_MOVE}.
+     * @param depth Profondeur restante du noeud.
+     * @param order Reçoit les coups, du plus prometteur au moins prometteur.
+     * @param keys Tampon des clés de tri.
+     * @return Le nombre de coups.
+     */
+    private int orderMoves(SideToMoveBoard board, long moves, int ttMove, int depth, int[] order, int[] keys) {
+        int count = Long.bitCount(moves);
+        for (int i = 0; i < count; i++, moves &= moves - 1) {
+            int square = Long.numberOfTrailingZeros(moves);
+            long bit = 1L << square;
+            int key = !moveOrdering ? 0 : ((bit & CORNERS) != 0) ? 1000 : ((bit & X_SQUARES) != 0) ? -1000 : 0;
+            if (square == ttMove) {
+                key = Integer.MAX_VALUE;
+            } else if (moveOrdering && depth >= MOBILITY_ORDER_DEPTH) {
+                long flipped = board.makeMove(square);
+                key -= Long.bitCount(board.getValidMoves()); // Le trait est à l'adversaire
+                board.undoMove(square, flipped);
+            }
+            // Tri par insertion, par clé décroissante
+            int j = i;
+            for (; j > 0 && keys[j - 1] < key; j--) {
+                keys[j] = keys[j - 1];
+                order[j] = order[j - 1];
+            }
+            keys[j] = key;
+            order[j] = square;
+        }
+        return count;
+    }
+}
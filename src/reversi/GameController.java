@@ -61,6 +61,9 @@ public class GameController {
      * @param p2 Joueur 2 (Blanc).
      */
     public void startNewGame(Player p1, Player p2) {
+        // Les bots de la partie précédente ne jouent plus : leurs ressources sont libérées
+        if (player1 instanceof BotPlayer && player1 != p1) ((BotPlayer) player1).dispose();
+        if (player2 instanceof BotPlayer && player2 != p2) ((BotPlayer) player2).dispose();
         this.player1 = p1; // Noir
         this.player2 = p2; // Blanc
         this.model.initialisation(); // Réinitialise le plateau
@@ -118,12 +121,12 @@ public class GameController {
         }
 
         // Si le nouveau joueur n'a pas de coup valide, il passe son tour
-        if (model.getValidMoves(currentTurn).isEmpty()) {
+        if (!model.hasAnyMove(currentTurn)) {
             currentTurn = currentTurn.oppose(); // Revient au joueur précédent
             updateView(); // Informe que le joueur passe son tour
             
             // Si l'autre joueur n'a pas non plus de coup valide, la partie est terminée
-            if (model.getValidMoves(currentTurn).isEmpty()) {
+            if (!model.hasAnyMove(currentTurn)) {
                 endGame();
                 return;
             }
@@ -144,8 +147,8 @@ public class GameController {
         if (!(currentPlayer instanceof HumanPlayer)) {
             // Utilise SwingUtilities.invokeLater pour exécuter dans le thread EDT (Event Dispatch Thread)
             SwingUtilities.invokeLater(() -> {
-                // Demande au bot de calculer son coup (donne une copie pour éviter la modification directe)
-                Move botMove = ((BotPlayer) currentPlayer).getMove(model.copy());
+                // Demande au bot son coup : livre d'ouvertures puis recherche (donne une copie pour éviter la modification directe)
+                Move botMove = ((BotPlayer) currentPlayer).chooseMove(model.copy());
                 
                 // Applique le coup s'il est valide
                 if (botMove != null && model.isMoveValid(botMove, currentTurn)) {
@@ -165,8 +165,8 @@ public class GreedyBFSBot extends BotPlayer {
      * @return La réduction du nombre de coups possibles de l'adversaire.
      */
     private int calculateOpponentMobilityReduction(ReversiPlateau originalBoard, ReversiPlateau newBoard) {
-        int originalOpponentMoves = originalBoard.getValidMoves(this.color.oppose()).size();
-        int newOpponentMoves = newBoard.getValidMoves(this.color.oppose()).size();
+        int originalOpponentMoves = Long.bitCount(originalBoard.getValidMovesMask(this.color.oppose()));
+        int newOpponentMoves = Long.bitCount(newBoard.getValidMovesMask(this.color.oppose()));
         return originalOpponentMoves - newOpponentMoves; // Positif = bon (réduction)
     }
     
@@ -77,11 +77,11 @@ public class MonteCarloBot extends BotPlayer {
     private boolean simulateRandomGame(ReversiPlateau board, Couleurcase currentTurn) {
         // Continue jusqu'à ce que la partie soit terminée
         while (!board.GameOver()) {
-            List<Move> moves = board.getValidMoves(currentTurn);
+            long moves = board.getValidMovesMask(currentTurn);
             
-            if (!moves.isEmpty()) {
-                // Choisit un coup aléatoire parmi les coups valides
-                Move randomMove = moves.get(random.nextInt(moves.size()));
+            if (moves != 0) {
+                // Choisit un coup aléatoire parmi les coups valides : la k-ième case du masque
+                Move randomMove = Move.of(FastReversiBoard.nthSquare(moves, random.nextInt(Long.bitCount(moves))));
                 board.placePion(randomMove, currentTurn);
             }
             
@@ -5,6 +5,11 @@ package reversi;
  * Un coup est défini par ses coordonnées (x, y) sur le plateau 8x8.
  * Cette classe est utilisée pour passer des informations de position
  * entre les différentes parties du programme.
+ *
+ * Comme il n'existe que 64 coups possibles, une table d'instances canoniques
+ * (poids mouche) est partagée : {@link #of(int)} et {@link #of(int, int)} ne créent
+ * aucun objet. Dans les parties critiques, un coup peut aussi être manipulé
+ * directement sous forme d'index de case (int de 0 à 63, x * 8 + y).
  */
 public class Move {
     
@@ -14,8 +19,18 @@ public class Move {
     /** Coordonnée y (colonne) du coup, de 0 à 7. */
     public final int y;
 
+    /** Table des 64 instances canoniques, indexée par x * 8 + y. */
+    private static final Move[] MOVES = new Move[64];
+
+    static {
+        for (int i = 0; i < 64; i++) {
+            MOVES[i] = new Move(i / 8, i % 8);
+        }
+    }
+
     /**
      * Constructeur d'un coup.
+     * Pour un coup situé sur le plateau, préférer {@link #of(int, int)} qui n'alloue rien.
      *
      * @param x La coordonnée x (ligne) où jouer le coup.
      * @param y La coordonnée y (colonne) où jouer le coup.
@@ -24,4 +39,80 @@ public class Move {
         this.x = x;
         this.y = y;
     }
+
+    /**
+     * Retourne l'instance canonique du coup correspondant à un index de case.
+     *
+     * @param index Index de la case (0-63, x * 8 + y).
+     * @return L'instance partagée de ce coup.
+     */
+    public static Move of(int index) {
+        return MOVES[index];
+    }
+
+    /**
+     * Retourne l'instance canonique du coup correspondant à des coordonnées.
+     *
+     * @param x La coordonnée x (ligne), de 0 à 7.
+     * @param y La coordonnée y (colonne), de 0 à 7.
+     * @return L'instance partagée de ce coup.
+     */
+    public static Move of(int x, int y) {
+        return MOVES[toIndex(x, y)];
+    }
+
+    /**
+     * Convertit des coordonnées en index de case (forme compacte d'un coup).
+     *
+     * @param x La coordonnée x (ligne), de 0 à 7.
+     * @param y La coordonnée y (colonne), de 0 à 7.
+     * @return L'index de la case (x * 8 + y).
+     */
+    public static int toIndex(int x, int y) {
+        return x * 8 + y;
+    }
+
+    /**
+     * Retourne l'index de case de ce coup (forme compacte, même convention que les bitboards).
+     *
+     * @return L'index de la case (x * 8 + y).
+     */
+    public int index() {
+        return toIndex(x, y);
+    }
+
+    /**
+     * Deux coups sont égaux s'ils ont les mêmes coordonnées,
+     * qu'il s'agisse ou non de la même instance.
+     *
+     * @param o L'objet à comparer.
+     * @return true si o est un coup aux mêmes coordonnées.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Move)) return false;
+        Move other = (Move) o;
+        return x == other.x && y == other.y;
+    }
+
+    /**
+     * Code de hachage cohérent avec equals : l'index de case.
+     *
+     * @return Le code de hachage du coup.
+     */
+    @Override
+    public int hashCode() {
+        return index();
+    }
+
+    /**
+     * Représentation texte du coup, par exemple "(2, 3)".
+     *
+     * @return Le coup au format texte.
+     */
+    @Override
+    public String toString() {
+        return "(" + x + ", " + y + ")";
+    }
 }
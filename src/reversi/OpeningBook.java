@@ -0,0 +1,248 @@
+package reversi;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Livre d'ouvertures : associe à une position le meilleur coup et son score, calculés hors ligne
+ * par une recherche profonde ({@link OpeningBookBuilder}).
+ *
+ * Les positions sont ramenées à leur représentant canonique (voir {@link FastReversiBoard#canonical()}) :
+ * une seule entrée couvre les 8 positions symétriques, et le coup est stocké dans le repère canonique
+ * puis ramené dans le repère de la partie au moment de la lecture.
+ *
+ * Le fichier est projeté en mémoire ({@link MappedByteBuffer}) et n'est jamais lu en entier :
+ * l'ouverture ne coûte que la lecture de l'en-tête, et une recherche est une recherche dichotomique
+ * sur les entrées triées par hash (une vingtaine de lectures pour un million d'entrées).
+ *
+ * Format (gros-boutiste) : en-tête de 16 octets (signature, version, nombre d'entrées, réservé),
+ * puis les entrées de 12 octets triées par hash croissant (comparaison signée) :
+ * hash de Zobrist canonique trait compris (64 bits), score du point de vue du joueur qui a le trait
+ * (16 bits signés), coup dans le repère canonique (8 bits) et profondeur de recherche (8 bits).
+ */
+public class OpeningBook {
+
+    /** Nom du fichier de livre utilisé par défaut (dans le répertoire courant). */
+    public static final String DEFAULT_FILE = "book.bin";
+
+    /** Signature du fichier de livre ("RVOB"). */
+    private static final int MAGIC = 0x52564F42;
+
+    /** Version du format de fichier. */
+    private static final int VERSION = 1;
+
+    /** Taille de l'en-tête en octets. */
+    private static final int HEADER_SIZE = 16;
+
+    /** Taille d'une entrée en octets. */
+    private static final int ENTRY_SIZE = 12;
+
+    /** Livre partagé, chargé à la première demande. */
+    private static OpeningBook instance;
+
+    /** Contenu du fichier projeté en mémoire (null pour un livre vide). */
+    private final MappedByteBuffer buffer;
+
+    /** Nombre d'entrées. */
+    private final int count;
+
+    /**
+     * Entrée du livre.
+     */
+    public static class Entry {
+        /** Hash de Zobrist du représentant canonique, trait compris. */
+        public final long hash;
+
+        /** Meilleur coup dans le repère canonique (0-63). */
+        public final int move;
+
+        /** Score du coup, du point de vue du joueur qui a le trait. */
+        public final int score;
+
+        /** Profondeur de la recherche qui a produit l'entrée. */
+        public final int depth;
+
+        /**
+         * Constructeur.
+         *
+         * @param hash Hash canonique de la position.
+         * @param move Coup dans le repère canonique.
+         * @param score Score du coup.
+         * @param depth Profondeur de recherche.
+         */
+        public Entry(long hash, int move, int score, int depth) {
+            this.hash = hash;
+            this.move = move;
+            this.score = score;
+            this.depth = depth;
+        }
+    }
+
+    /**
+     * Constructeur.
+     *
+     * @param buffer Le fichier projeté en mémoire, ou null pour un livre vide.
+     * @param count Le nombre d'entrées.
+     */
+    private OpeningBook(MappedByteBuffer buffer, int count) {
+        this.buffer = buffer;
+        this.count = count;
+    }
+
+    /**
+     * Retourne un livre vide (aucune position connue).
+     *
+     * @return Un livre vide.
+     */
+    public static OpeningBook empty() {
+        return new OpeningBook(null, 0);
+    }
+
+    /**
+     * Retourne le livre partagé : celui du fichier {@link #DEFAULT_FILE} si présent,
+     * un livre vide sinon.
+     *
+     * @return Le livre partagé.
+     */
+    public static synchronized OpeningBook getInstance() {
+        if (instance == null) {
+            instance = openOrEmpty(Paths.get(DEFAULT_FILE));
+        }
+        return instance;
+    }
+
+    /**
+     * Ouvre un livre, ou retourne un livre vide si le fichier est absent ou invalide.
+     *
+     * @param file Le fichier de livre.
+     * @return Le livre ouvert.
+     */
+    public static OpeningBook openOrEmpty(Path file) {
+        if (Files.isReadable(file)) {
+            try {
+                return open(file);
+            } catch (IOException e) {
+                System.err.println("Livre d'ouvertures illisible (" + file + ") : " + e.getMessage());
+            }
+        }
+        return empty();
+    }
+
+    /**
+     * Ouvre un livre en projetant le fichier en mémoire. Seul l'en-tête est lu :
+     * les entrées sont chargées à la demande par le système.
+     *
+     * @param file Le fichier de livre.
+     * @return Le livre ouvert.
+     * @throws IOException Si le fichier est illisible ou n'est pas un livre valide.
+     */
+    public static OpeningBook open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) throw new IOException("Fichier trop court");
+            // La projection reste valide après la fermeture du canal
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            if (buffer.getInt(0) != MAGIC) throw new IOException("Signature invalide");
+            int version = buffer.getInt(4);
+            if (version != VERSION) throw new IOException("Version non supportée : " + version);
+            int count = buffer.getInt(8);
+            if (count < 0 || size != HEADER_SIZE + (long) count * ENTRY_SIZE) {
+                throw new IOException("Taille incohérente : " + count + " entrées pour " + size + " octets");
+            }
+            return new OpeningBook(buffer, count);
+        }
+    }
+
+    /**
+     * Retourne le nombre d'entrées du livre.
+     *
+     * @return Le nombre de positions connues.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Cherche une position dans le livre par son hash canonique (recherche dichotomique).
+     *
+     * @param hash Hash de Zobrist canonique, trait compris ({@link FastReversiBoard.Canonical#getHash(boolean)}).
+     * @return L'entrée, ou null si la position n'est pas dans le livre.
+     */
+    public Entry probe(long hash) {
+        int low = 0, high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int offset = HEADER_SIZE + mid * ENTRY_SIZE;
+            int cmp = Long.compare(buffer.getLong(offset), hash);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                // Lectures absolues : le tampon peut être partagé entre threads
+                return new Entry(hash, buffer.get(offset + 10) & 0xFF, buffer.getShort(offset + 8),
+                        buffer.get(offset + 11) & 0xFF);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Cherche le coup du livre pour une position de jeu.
+     *
+     * @param board Le plateau.
+     * @param turn La couleur du joueur qui a le trait.
+     * @return Le coup du livre dans le repère du plateau, ou null si la position est inconnue.
+     */
+    public Move lookup(ReversiPlateau board, Couleurcase turn) {
+        if (count == 0) return null;
+        FastReversiBoard.Canonical canonical = FastReversiBoard.canonical(board.getNoirs(), board.getBlancs());
+        Entry entry = probe(canonical.getHash(turn == Couleurcase.NOIR));
+        if (entry == null || entry.move >= 64) return null;
+        // Le coup est stocké dans le repère canonique : on applique la symétrie réciproque
+        return Move.of(FastReversiBoard.transformSquare(entry.move,
+                FastReversiBoard.inverseTransform(canonical.transform)));
+    }
+
+    /**
+     * Écrit un livre (format de {@link #open(Path)}). Les entrées sont triées par hash ;
+     * pour un même hash, seule l'entrée de plus grande profondeur est conservée.
+     *
+     * @param file Le fichier à écrire.
+     * @param entries Les entrées, dans un ordre quelconque.
+     * @throws IOException En cas d'erreur d'écriture.
+     */
+    public static void write(Path file, List<Entry> entries) throws IOException {
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparingLong((Entry e) -> e.hash).thenComparingInt(e -> -e.depth));
+        List<Entry> unique = new ArrayList<>(sorted.size());
+        for (Entry entry : sorted) {
+            if (unique.isEmpty() || unique.get(unique.size() - 1).hash != entry.hash) unique.add(entry);
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(unique.size());
+            out.writeInt(0);
+            for (Entry entry : unique) {
+                out.writeLong(entry.hash);
+                out.writeShort(Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, entry.score)));
+                out.writeByte(entry.move);
+                out.writeByte(entry.depth);
+            }
+        }
+    }
+}
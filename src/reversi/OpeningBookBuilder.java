@@ -0,0 +1,120 @@
+package reversi;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outil hors ligne de construction du livre d'ouvertures ({@link OpeningBook}).
+ *
+ * Toutes les positions atteignables depuis la position initiale jusqu'au nombre de demi-coups
+ * demandé sont énumérées niveau par niveau, ramenées à leur représentant canonique et dédupliquées
+ * (les symétries divisent leur nombre par près de 8). Chaque position est ensuite cherchée
+ * à la profondeur demandée par AlphaBetaBotRapide, en parallèle (deux bots et leurs tables
+ * de transposition par thread). Les positions où le joueur doit passer ne sont pas développées.
+ *
+ * Utilisation : {@code java reversi.OpeningBookBuilder [demi-coups] [profondeur] [fichier]}
+ */
+public class OpeningBookBuilder {
+
+    /** Taille de la table de transposition de chaque bot, en Mo. */
+    private static final int TABLE_MB = 16;
+
+    /**
+     * Énumère les positions canoniques distinctes à chaque niveau.
+     *
+     * @param plies Nombre de niveaux (la position initiale est le niveau 0).
+     * @return Pour chaque niveau, les positions canoniques indexées par leur hash.
+     */
+    static List<Map<Long, SideToMoveBoard>> enumerate(int plies) {
+        List<Map<Long, SideToMoveBoard>> levels = new ArrayList<>();
+        ReversiPlateau start = new ReversiPlateau();
+        start.initialisation();
+        Map<Long, SideToMoveBoard> level = new LinkedHashMap<>();
+        add(level, start.getNoirs(), start.getBlancs(), true);
+
+        for (int ply = 0; ply < plies; ply++) {
+            levels.add(level);
+            if (ply == plies - 1) break;
+            Map<Long, SideToMoveBoard> next = new LinkedHashMap<>();
+            for (SideToMoveBoard position : level.values()) {
+                for (long moves = position.getValidMoves(); moves != 0; moves &= moves - 1) {
+                    SideToMoveBoard child = position.copy();
+                    child.makeMove(Long.numberOfTrailingZeros(moves));
+                    add(next, child.getBlack(), child.getWhite(), child.isBlackToMove());
+                }
+            }
+            level = next;
+        }
+        return levels;
+    }
+
+    /**
+     * Ajoute le représentant canonique d'une position à un niveau, s'il n'y est pas déjà.
+     *
+     * @param level Le niveau.
+     * @param black Masque des pions noirs.
+     * @param white Masque des pions blancs.
+     * @param blackTurn true si les noirs ont le trait.
+     */
+    private static void add(Map<Long, SideToMoveBoard> level, long black, long white, boolean blackTurn) {
+        FastReversiBoard.Canonical canonical = FastReversiBoard.canonical(black, white);
+        level.computeIfAbsent(canonical.getHash(blackTurn), hash -> blackTurn
+                ? new SideToMoveBoard(canonical.black, canonical.white, true)
+                : new SideToMoveBoard(canonical.white, canonical.black, false));
+    }
+
+    /**
+     * Cherche le meilleur coup de chaque position, en parallèle.
+     *
+     * @param positions Les positions canoniques indexées par leur hash.
+     * @param depth Profondeur de recherche.
+     * @return Les entrées du livre (coups dans le repère canonique).
+     */
+    static List<OpeningBook.Entry> search(Map<Long, SideToMoveBoard> positions, int depth) {
+        ThreadLocal<AlphaBetaBotRapide[]> bots = ThreadLocal.withInitial(() -> new AlphaBetaBotRapide[] {
+                new AlphaBetaBotRapide(Couleurcase.NOIR, depth).withTranspositionTable(new TranspositionTable(TABLE_MB)),
+                new AlphaBetaBotRapide(Couleurcase.BLANC, depth).withTranspositionTable(new TranspositionTable(TABLE_MB))});
+        List<OpeningBook.Entry> entries = new ArrayList<>();
+        positions.entrySet().parallelStream().forEach(e -> {
+            SideToMoveBoard position = e.getValue();
+            AlphaBetaBotRapide bot = bots.get()[position.isBlackToMove() ? 0 : 1];
+            Move move = bot.getMove(new ReversiPlateau(position.getBlack(), position.getWhite()));
+            if (move == null) return; // Le joueur doit passer
+            OpeningBook.Entry entry = new OpeningBook.Entry(e.getKey(), move.index(), bot.getScore(), bot.getCompletedDepth());
+            synchronized (entries) {
+                entries.add(entry);
+            }
+        });
+        return entries;
+    }
+
+    /**
+     * Point d'entrée : énumère les positions, les cherche et écrit le livre.
+     *
+     * @param args [demi-coups] [profondeur] [fichier].
+     * @throws IOException En cas d'erreur d'écriture du fichier.
+     */
+    public static void main(String[] args) throws IOException {
+        int plies = args.length > 0 ? Integer.parseInt(args[0]) : 6;
+        int depth = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        Path file = Paths.get(args.length > 2 ? args[2] : OpeningBook.DEFAULT_FILE);
+
+        long start = System.nanoTime();
+        List<OpeningBook.Entry> entries = new ArrayList<>();
+        List<Map<Long, SideToMoveBoard>> levels = enumerate(plies);
+        for (int ply = 0; ply < levels.size(); ply++) {
+            long levelStart = System.nanoTime();
+            entries.addAll(search(levels.get(ply), depth));
+            System.out.printf("demi-coup %2d : %7d positions  %8d ms%n", ply, levels.get(ply).size(),
+                    (System.nanoTime() - levelStart) / 1_000_000);
+        }
+        OpeningBook.write(file, entries);
+        System.out.println(entries.size() + " positions (profondeur " + depth + ") enregistrées dans " + file
+                + " (" + (System.nanoTime() - start) / 1_000_000 + " ms)");
+    }
+}
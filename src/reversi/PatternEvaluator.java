@@ -0,0 +1,388 @@
+package reversi;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Évaluateur par motifs (patterns), dans l'esprit de Logistello.
+ * Le plateau est découpé en motifs : bords avec cases X, régions de coin 3x3, lignes 2 à 4
+ * et diagonales de 4 à 8 cases. Chaque motif est lu comme un nombre en base 3
+ * (0 vide, 1 noir, 2 blanc) qui sert d'indice dans une table de scores précalculée.
+ * Les motifs symétriques (les 4 bords, les 4 coins...) partagent la même table.
+ *
+ * Les indices sont tenus à jour de manière incrémentale par FastReversiBoard
+ * (voir {@link FastReversiBoard#attachPatterns()}) à partir du masque des pions retournés :
+ * une évaluation ne coûte alors qu'une lecture de table par motif.
+ *
+ * Les tables sont lues depuis un fichier binaire compact ({@link #load(Path)}). À défaut,
+ * des tables équivalentes à la table de poids statiques de BitboardEvaluator sont construites.
+ */
+public class PatternEvaluator {
+
+    /** Nom du fichier de tables chargé par défaut (dans le répertoire courant). */
+    public static final String DEFAULT_FILE = "patterns.bin";
+
+    /** Signature du fichier de tables ("RVPT"). */
+    private static final int MAGIC = 0x52565054;
+
+    /** Version du format de fichier. */
+    private static final int VERSION = 1;
+
+    /** Facteur d'échelle des tables : les scores sont stockés en huitièmes de point. */
+    private static final int SCALE = 8;
+
+    /**
+     * Motifs de base, décrits par leurs cases (x * 8 + y) dans l'ordre des chiffres en base 3.
+     * Les autres occurrences de chaque motif sont obtenues par les symétries du plateau.
+     */
+    private static final int[][] BASE_PATTERNS = {
+        {9, 0, 1, 2, 3, 4, 5, 6, 7, 14},         // Bord + 2 cases X
+        {0, 1, 2, 8, 9, 10, 16, 17, 18},         // Coin 3x3
+        {8, 9, 10, 11, 12, 13, 14, 15},          // Ligne 2
+        {16, 17, 18, 19, 20, 21, 22, 23},        // Ligne 3
+        {24, 25, 26, 27, 28, 29, 30, 31},        // Ligne 4
+        {7, 14, 21, 28, 35, 42, 49, 56},         // Diagonale de 8 cases
+        {6, 13, 20, 27, 34, 41, 48},             // Diagonale de 7 cases
+        {5, 12, 19, 26, 33, 40},                 // Diagonale de 6 cases
+        {4, 11, 18, 25, 32},                     // Diagonale de 5 cases
+        {3, 10, 17, 24}                          // Diagonale de 4 cases
+    };
+
+    /** Nombre de classes de motifs (une table par classe et par phase). */
+    private static final int CLASSES = BASE_PATTERNS.length;
+
+    /** Taille de la table de chaque classe (3 puissance le nombre de cases). */
+    private static final int[] TABLE_SIZES = new int[CLASSES];
+
+    /** Classe de chaque occurrence de motif. */
+    private static final int[] PATTERN_CLASS;
+
+    /** Cases de chaque occurrence de motif, dans l'ordre des chiffres. */
+    private static final int[][] PATTERN_SQUARES;
+
+    /** Nombre total d'occurrences de motifs sur le plateau. */
+    static final int PATTERNS;
+
+    /** Pour chaque case : les occurrences de motifs qui la contiennent. */
+    private static final int[][] SQUARE_PATTERNS = new int[64][];
+
+    /** Pour chaque case : sa puissance de 3 dans chacune de ces occurrences. */
+    private static final int[][] SQUARE_POWERS = new int[64][];
+
+    static {
+        // Génère les occurrences distinctes de chaque motif par les 8 symétries
+        List<int[]> squares = new ArrayList<>();
+        List<Integer> classes = new ArrayList<>();
+        for (int c = 0; c < CLASSES; c++) {
+            int[] base = BASE_PATTERNS[c];
+            TABLE_SIZES[c] = pow3(base.length);
+            List<Long> seen = new ArrayList<>();
+            for (int t = 0; t < FastReversiBoard.SYMMETRIES; t++) {
+                int[] pattern = new int[base.length];
+                long mask = 0L;
+                for (int k = 0; k < base.length; k++) {
+                    pattern[k] = FastReversiBoard.transformSquare(base[k], t);
+                    mask |= 1L << pattern[k];
+                }
+                if (!seen.contains(mask)) {
+                    seen.add(mask);
+                    squares.add(pattern);
+                    classes.add(c);
+                }
+            }
+        }
+        PATTERNS = squares.size();
+        PATTERN_SQUARES = squares.toArray(new int[PATTERNS][]);
+        PATTERN_CLASS = new int[PATTERNS];
+        for (int p = 0; p < PATTERNS; p++) PATTERN_CLASS[p] = classes.get(p);
+
+        // Index inverse : case -> (occurrence, puissance de 3)
+        for (int sq = 0; sq < 64; sq++) {
+            int[] patterns = new int[PATTERNS];
+            int[] powers = new int[PATTERNS];
+            int n = 0;
+            for (int p = 0; p < PATTERNS; p++) {
+                int[] pattern = PATTERN_SQUARES[p];
+                for (int k = 0; k < pattern.length; k++) {
+                    if (pattern[k] == sq) {
+                        patterns[n] = p;
+                        powers[n] = pow3(k);
+                        n++;
+                    }
+                }
+            }
+            SQUARE_PATTERNS[sq] = Arrays.copyOf(patterns, n);
+            SQUARE_POWERS[sq] = Arrays.copyOf(powers, n);
+        }
+    }
+
+    /** Instance partagée, chargée à la première utilisation. */
+    private static PatternEvaluator instance;
+
+    /** Tables de scores (point de vue des noirs) : [phase][classe][indice]. */
+    private final short[][][] tables;
+
+    /**
+     * Constructeur interne à partir de tables déjà construites.
+     *
+     * @param tables Les tables [phase][classe][indice].
+     */
+    private PatternEvaluator(short[][][] tables) {
+        this.tables = tables;
+    }
+
+    /**
+     * Retourne l'évaluateur partagé : tables du fichier {@link #DEFAULT_FILE} si présent,
+     * tables par défaut sinon.
+     *
+     * @return L'évaluateur partagé.
+     */
+    public static synchronized PatternEvaluator getInstance() {
+        if (instance == null) {
+            instance = loadOrDefault(Paths.get(DEFAULT_FILE));
+        }
+        return instance;
+    }
+
+    /**
+     * Construit les tables par défaut à partir des poids statiques de BitboardEvaluator.
+     * Le poids de chaque case est réparti entre les motifs qui la contiennent :
+     * la somme des motifs redonne (aux arrondis près) l'évaluation positionnelle.
+     *
+     * @return Un évaluateur à une seule phase.
+     */
+    public static PatternEvaluator createDefault() {
+        int[] coverage = new int[64];
+        for (int sq = 0; sq < 64; sq++) coverage[sq] = SQUARE_PATTERNS[sq].length;
+
+        short[][] phase = new short[CLASSES][];
+        for (int c = 0; c < CLASSES; c++) {
+            // Toutes les occurrences d'une classe sont symétriques : la première sert de référence
+            int[] pattern = null;
+            for (int p = 0; p < PATTERNS && pattern == null; p++) {
+                if (PATTERN_CLASS[p] == c) pattern = PATTERN_SQUARES[p];
+            }
+
+            short[] table = new short[TABLE_SIZES[c]];
+            for (int index = 0; index < table.length; index++) {
+                double value = 0.0;
+                int rest = index;
+                for (int k = 0; k < pattern.length; k++, rest /= 3) {
+                    int digit = rest % 3;
+                    if (digit == 0) continue;
+                    double share = (double) BitboardEvaluator.weight(pattern[k]) / coverage[pattern[k]];
+                    value += (digit == 1) ? share : -share;
+                }
+                table[index] = (short) Math.round(value * SCALE);
+            }
+            phase[c] = table;
+        }
+        return new PatternEvaluator(new short[][][] {phase});
+    }
+
+    /**
+     * Charge les tables depuis un fichier, ou construit les tables par défaut
+     * si le fichier est absent ou illisible.
+     *
+     * @param file Le fichier de tables.
+     * @return L'évaluateur chargé.
+     */
+    public static PatternEvaluator loadOrDefault(Path file) {
+        if (Files.isReadable(file)) {
+            try {
+                return load(file);
+            } catch (IOException e) {
+                System.err.println("Tables de motifs illisibles (" + file + ") : " + e.getMessage());
+            }
+        }
+        return createDefault();
+    }
+
+    /**
+     * Charge les tables depuis un fichier binaire.
+     * Format : signature, version, nombre de phases, puis pour chaque phase et chaque classe
+     * les scores de la table (entiers 16 bits signés, gros-boutiste, en huitièmes de point).
+     *
+     * @param file Le fichier de tables.
+     * @return L'évaluateur chargé.
+     * @throws IOException Si le fichier est illisible ou n'est pas un fichier de tables valide.
+     */
+    public static PatternEvaluator load(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) throw new IOException("Signature invalide");
+            int version = in.readInt();
+            if (version != VERSION) throw new IOException("Version non supportée : " + version);
+            int phases = in.readInt();
+            if (phases < 1 || phases > 60) throw new IOException("Nombre de phases invalide : " + phases);
+
+            short[][][] tables = new short[phases][CLASSES][];
+            for (int phase = 0; phase < phases; phase++) {
+                for (int c = 0; c < CLASSES; c++) {
+                    byte[] bytes = new byte[TABLE_SIZES[c] * 2];
+                    in.readFully(bytes);
+                    short[] table = new short[TABLE_SIZES[c]];
+                    ByteBuffer.wrap(bytes).asShortBuffer().get(table);
+                    tables[phase][c] = table;
+                }
+            }
+            return new PatternEvaluator(tables);
+        }
+    }
+
+    /**
+     * Enregistre les tables dans un fichier binaire (format de {@link #load(Path)}).
+     *
+     * @param file Le fichier à écrire.
+     * @throws IOException En cas d'erreur d'écriture.
+     */
+    public void save(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(tables.length);
+            for (short[][] phase : tables) {
+                for (short[] table : phase) {
+                    ByteBuffer bytes = ByteBuffer.allocate(table.length * 2);
+                    bytes.asShortBuffer().put(table);
+                    out.write(bytes.array());
+                }
+            }
+        }
+    }
+
+    /**
+     * Évalue une position à partir de ses indices de motifs.
+     * La table utilisée dépend de la phase de jeu (nombre de pions sur le plateau).
+     *
+     * @param indices Les indices de motifs de la position.
+     * @param discs Nombre de pions sur le plateau (4 à 64).
+     * @param blackPlayer true pour un score du point de vue des noirs, false pour les blancs.
+     * @return Le score de la position, dans l'unité des poids de BitboardEvaluator.
+     */
+    public int evaluate(Indices indices, int discs, boolean blackPlayer) {
+        short[][] phase = tables[Math.min(tables.length - 1, Math.max(0, discs - 4) * tables.length / 61)];
+        int[] index = indices.index;
+        int score = 0;
+        for (int p = 0; p < PATTERNS; p++) {
+            score += phase[PATTERN_CLASS[p]][index[p]];
+        }
+        score /= SCALE;
+        return blackPlayer ? score : -score;
+    }
+
+    /**
+     * Évalue un plateau auquel des indices de motifs sont attachés.
+     *
+     * @param board Le plateau (voir {@link FastReversiBoard#attachPatterns()}).
+     * @param blackPlayer true pour un score du point de vue des noirs, false pour les blancs.
+     * @return Le score de la position.
+     */
+    public int evaluate(FastReversiBoard board, boolean blackPlayer) {
+        return evaluate(board.getPatterns(), Long.bitCount(board.black | board.white), blackPlayer);
+    }
+
+    /**
+     * Calcule 3 à la puissance n.
+     *
+     * @param n L'exposant.
+     * @return 3^n.
+     */
+    private static int pow3(int n) {
+        int p = 1;
+        for (int i = 0; i < n; i++) p *= 3;
+        return p;
+    }
+
+    /**
+     * Indices de motifs d'une position, tenus à jour de manière incrémentale.
+     * Chiffre de chaque case : 0 vide, 1 noir, 2 blanc.
+     */
+    public static final class Indices {
+        /** Indice en base 3 de chaque occurrence de motif. */
+        final int[] index;
+
+        /**
+         * Constructeur interne.
+         *
+         * @param index Les indices de motifs.
+         */
+        private Indices(int[] index) {
+            this.index = index;
+        }
+
+        /**
+         * Calcule entièrement les indices de motifs d'une position.
+         *
+         * @param black Masque des pions noirs.
+         * @param white Masque des pions blancs.
+         * @return Les indices de la position.
+         */
+        public static Indices of(long black, long white) {
+            int[] index = new int[PATTERNS];
+            for (long b = black; b != 0; b &= b - 1) add(index, Long.numberOfTrailingZeros(b), 1);
+            for (long w = white; w != 0; w &= w - 1) add(index, Long.numberOfTrailingZeros(w), 2);
+            return new Indices(index);
+        }
+
+        /**
+         * Crée une copie indépendante de ces indices.
+         *
+         * @return La copie.
+         */
+        public Indices copy() {
+            return new Indices(index.clone());
+        }
+
+        /**
+         * Met à jour les indices après un coup.
+         *
+         * @param square Case jouée.
+         * @param flipped Masque des pions retournés.
+         * @param blackTurn true si le coup a été joué par les noirs.
+         */
+        void play(int square, long flipped, boolean blackTurn) {
+            add(index, square, blackTurn ? 1 : 2);
+            // Un pion blanc retourné en noir passe de 2 à 1, et inversement
+            int delta = blackTurn ? -1 : 1;
+            for (long f = flipped; f != 0; f &= f - 1) add(index, Long.numberOfTrailingZeros(f), delta);
+        }
+
+        /**
+         * Annule la mise à jour faite par {@link #play(int, long, boolean)}.
+         *
+         * @param square Case qui avait été jouée.
+         * @param flipped Masque des pions retournés.
+         * @param blackTurn true si le coup annulé avait été joué par les noirs.
+         */
+        void undo(int square, long flipped, boolean blackTurn) {
+            add(index, square, blackTurn ? -1 : -2);
+            int delta = blackTurn ? 1 : -1;
+            for (long f = flipped; f != 0; f &= f - 1) add(index, Long.numberOfTrailingZeros(f), delta);
+        }
+
+        /**
+         * Ajoute un multiple de la puissance de 3 d'une case à tous les motifs qui la contiennent.
+         *
+         * @param index Les indices à modifier.
+         * @param square La case.
+         * @param digits Variation du chiffre de la case.
+         */
+        private static void add(int[] index, int square, int digits) {
+            int[] patterns = SQUARE_PATTERNS[square];
+            int[] powers = SQUARE_POWERS[square];
+            for (int i = 0; i < patterns.length; i++) {
+                index[patterns[i]] += digits * powers[i];
+            }
+        }
+    }
+}
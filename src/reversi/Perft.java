@@ -0,0 +1,451 @@
+package reversi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Outil "perft" : compte le nombre de feuilles de l'arbre des coups jusqu'à une profondeur donnée.
+ * Sert à la fois à valider le générateur de coups et le calcul des retournements bit à bit
+ * (FastReversiBoard) en les comparant noeud par noeud à une référence case par case
+ * (ReversiPlateau.isMoveValid et le parcours des directions de Perft), et de benchmark de débit
+ * (noeuds par seconde), éventuellement multi-thread en répartissant les coups de la racine.
+ *
+ * Conventions : un passe compte comme un coup (un niveau de profondeur), et une position de fin
+ * de partie atteinte avant la profondeur demandée compte comme une seule feuille.
+ *
+ * Utilisation : {@code java reversi.Perft <profondeur> [threads] [position]}
+ * où position est une chaîne de 64 caractères ('X' noir, 'O' blanc, '-' vide, ligne par ligne)
+ * suivie du trait ('X' ou 'O'). Sans position, la position de départ est utilisée, trait aux noirs.
+ */
+public class Perft {
+
+    /** Les 8 directions de retournement (dx, dy), pour le coup de référence. */
+    private static final int[][] DIRECTIONS = {
+        {-1, -1}, {-1, 0}, {-1, 1},
+        {0, -1},           {0, 1},
+        {1, -1},  {1, 0},  {1, 1}
+    };
+
+    /**
+     * Perft sur le plateau de référence ReversiPlateau.
+     *
+     * @param board Le plateau de départ.
+     * @param turn La couleur du joueur qui a le trait.
+     * @param depth Profondeur restante.
+     * @return Le nombre de feuilles.
+     */
+    public static long perft(ReversiPlateau board, Couleurcase turn, int depth) {
+        if (depth == 0) return 1;
+
+        List<Move> moves = referenceMoves(board, turn);
+        if (moves.isEmpty()) {
+            // Fin de partie : aucun des deux joueurs ne peut jouer
+            if (referenceMoves(board, turn.oppose()).isEmpty()) return 1;
+            // Sinon le joueur passe son tour
+            return perft(board, turn.oppose(), depth - 1);
+        }
+
+        long nodes = 0;
+        for (Move move : moves) {
+            ReversiPlateau child = referencePlace(board, move, turn);
+            nodes += perft(child, turn.oppose(), depth - 1);
+        }
+        return nodes;
+    }
+
+    /**
+     * Coups valides calculés par la méthode de référence : isMoveValid (parcours des 8 directions)
+     * sur chacune des 64 cases. ReversiPlateau.getValidMoves utilisant le générateur bit à bit,
+     * la validation doit s'appuyer sur cette méthode indépendante.
+     *
+     * @param board Le plateau.
+     * @param turn La couleur du joueur.
+     * @return La liste des coups valides.
+     */
+    private static List<Move> referenceMoves(ReversiPlateau board, Couleurcase turn) {
+        List<Move> moves = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            if (board.isMoveValid(Move.of(i), turn)) moves.add(Move.of(i));
+        }
+        return moves;
+    }
+
+    /**
+     * Joue un coup par la méthode de référence : parcours case par case des 8 directions
+     * et retournement des pions encadrés, un à un. ReversiPlateau.placePion utilisant le calcul
+     * bit à bit des retournements de FastReversiBoard, la validation doit s'appuyer sur
+     * cette méthode indépendante.
+     *
+     * @param board Le plateau (non modifié).
+     * @param move Le coup à jouer (supposé valide).
+     * @param turn La couleur du joueur qui joue.
+     * @return Le plateau après le coup.
+     */
+    private static ReversiPlateau referencePlace(ReversiPlateau board, Move move, Couleurcase turn) {
+        long mine = (turn == Couleurcase.NOIR) ? board.getNoirs() : board.getBlancs();
+        long theirs = (turn == Couleurcase.NOIR) ? board.getBlancs() : board.getNoirs();
+        mine |= 1L << move.index();
+
+        Couleurcase opponent = turn.oppose();
+        for (int[] dir : DIRECTIONS) {
+            int x = move.x + dir[0];
+            int y = move.y + dir[1];
+            // Avance tant qu'on trouve des pions adverses
+            while (x >= 0 && x < 8 && y >= 0 && y < 8 && board.getEtat(x, y) == opponent) {
+                x += dir[0];
+                y += dir[1];
+            }
+            // La ligne doit se terminer par un pion du joueur, après au moins un pion adverse
+            if (x < 0 || x >= 8 || y < 0 || y >= 8 || board.getEtat(x, y) != turn) continue;
+            for (int fx = move.x + dir[0], fy = move.y + dir[1]; fx != x || fy != y; fx += dir[0], fy += dir[1]) {
+                long bit = 1L << (fx * 8 + fy);
+                mine |= bit;
+                theirs &= ~bit;
+            }
+        }
+        return (turn == Couleurcase.NOIR) ? new ReversiPlateau(mine, theirs) : new ReversiPlateau(theirs, mine);
+    }
+
+    /**
+     * Perft sur le plateau bit à bit FastReversiBoard, avec le générateur de coups Kogge-Stone.
+     *
+     * @param board Le plateau de départ.
+     * @param blackTurn true si les noirs ont le trait.
+     * @param depth Profondeur restante.
+     * @return Le nombre de feuilles.
+     */
+    public static long perft(FastReversiBoard board, boolean blackTurn, int depth) {
+        return perft(board, blackTurn, depth, FastReversiBoard.MoveGenerator.KOGGE_STONE);
+    }
+
+    /**
+     * Perft sur le plateau bit à bit FastReversiBoard, avec un générateur de coups donné.
+     *
+     * @param board Le plateau de départ.
+     * @param blackTurn true si les noirs ont le trait.
+     * @param depth Profondeur restante.
+     * @param generator Le générateur de coups à utiliser.
+     * @return Le nombre de feuilles.
+     */
+    public static long perft(FastReversiBoard board, boolean blackTurn, int depth, FastReversiBoard.MoveGenerator generator) {
+        if (depth == 0) return 1;
+
+        long moves = board.getValidMovesBitmask(blackTurn, generator);
+        if (moves == 0) {
+            if (board.getValidMovesBitmask(!blackTurn, generator) == 0) return 1;
+            return perft(board, !blackTurn, depth - 1, generator);
+        }
+
+        // Au dernier niveau, le nombre de feuilles est simplement le nombre de coups
+        if (depth == 1) return Long.bitCount(moves);
+
+        long nodes = 0;
+        for (; moves != 0; moves &= moves - 1) {
+            int square = Long.numberOfTrailingZeros(moves);
+            long flipped = board.makeMove(square, blackTurn);
+            nodes += perft(board, !blackTurn, depth - 1, generator);
+            board.undoMove(square, flipped, blackTurn);
+        }
+        return nodes;
+    }
+
+    /**
+     * Perft sur le plateau normalisé selon le trait SideToMoveBoard (aucun test de couleur).
+     *
+     * @param board Le plateau de départ, joueur au trait compris.
+     * @param depth Profondeur restante.
+     * @return Le nombre de feuilles.
+     */
+    public static long perft(SideToMoveBoard board, int depth) {
+        if (depth == 0) return 1;
+
+        long moves = board.getValidMoves();
+        if (moves == 0) {
+            if (board.getOpponentValidMoves() == 0) return 1;
+            board.pass();
+            long nodes = perft(board, depth - 1);
+            board.pass();
+            return nodes;
+        }
+
+        if (depth == 1) return Long.bitCount(moves);
+
+        long nodes = 0;
+        for (; moves != 0; moves &= moves - 1) {
+            int square = Long.numberOfTrailingZeros(moves);
+            long flipped = board.makeMove(square);
+            nodes += perft(board, depth - 1);
+            board.undoMove(square, flipped);
+        }
+        return nodes;
+    }
+
+    /**
+     * Perft de validation : parcourt l'arbre simultanément sur les deux représentations
+     * et vérifie à chaque noeud que les coups valides et les positions obtenues sont identiques.
+     *
+     * @param board Le plateau de référence.
+     * @param fast Le plateau bit à bit correspondant.
+     * @param turn La couleur du joueur qui a le trait.
+     * @param depth Profondeur restante.
+     * @return Le nombre de feuilles.
+     * @throws IllegalStateException Si les deux représentations divergent.
+     */
+    public static long perftVerify(ReversiPlateau board, FastReversiBoard fast, Couleurcase turn, int depth) {
+        boolean blackTurn = (turn == Couleurcase.NOIR);
+
+        // Les deux plateaux doivent contenir exactement les mêmes pions
+        if (board.getNoirs() != fast.black || board.getBlancs() != fast.white) {
+            throw new IllegalStateException("Positions différentes :\n" + toString(board) + "\n" + toString(fast));
+        }
+        if (depth == 0) return 1;
+
+        // Les coups valides doivent être identiques
+        List<Move> moves = referenceMoves(board, turn);
+        long expected = 0L;
+        for (Move move : moves) expected |= 1L << move.index();
+        long actual = fast.getValidMovesBitmask(blackTurn);
+        if (expected != actual) {
+            throw new IllegalStateException("Coups différents (attendu " + Long.toHexString(expected)
+                    + ", obtenu " + Long.toHexString(actual) + ") :\n" + toString(board));
+        }
+
+        if (moves.isEmpty()) {
+            if (referenceMoves(board, turn.oppose()).isEmpty()) return 1;
+            return perftVerify(board, fast, turn.oppose(), depth - 1);
+        }
+
+        long nodes = 0;
+        for (Move move : moves) {
+            ReversiPlateau child = referencePlace(board, move, turn);
+            long flipped = fast.makeMove(move.x, move.y, blackTurn);
+            nodes += perftVerify(child, fast, turn.oppose(), depth - 1);
+            fast.undoMove(move.index(), flipped, blackTurn);
+        }
+        return nodes;
+    }
+
+    /**
+     * Perft multi-thread sur FastReversiBoard. L'arbre est découpé à la racine (et au niveau
+     * suivant, pour disposer de suffisamment de tâches) et chaque sous-arbre est compté
+     * par un thread du pool.
+     *
+     * @param board Le plateau de départ.
+     * @param blackTurn true si les noirs ont le trait.
+     * @param depth Profondeur totale.
+     * @param threads Nombre de threads à utiliser.
+     * @param generator Le générateur de coups à utiliser.
+     * @return Le nombre de feuilles.
+     * @throws InterruptedException Si l'attente des résultats est interrompue.
+     */
+    public static long perftParallel(FastReversiBoard board, boolean blackTurn, int depth, int threads,
+                                     FastReversiBoard.MoveGenerator generator) throws InterruptedException {
+        if (depth <= 2 || threads <= 1) return perft(board, blackTurn, depth, generator);
+
+        // Découpe : une tâche par position atteinte après deux demi-coups
+        List<FastReversiBoard> boards = new ArrayList<>();
+        List<Boolean> turns = new ArrayList<>();
+        long leaves = split(board, blackTurn, 2, boards, turns);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int i = 0; i < boards.size(); i++) {
+                FastReversiBoard sub = boards.get(i);
+                boolean subTurn = turns.get(i);
+                results.add(pool.submit(() -> perft(sub, subTurn, depth - 2, generator)));
+            }
+
+            long nodes = leaves;
+            for (Future<Long> result : results) {
+                nodes += result.get();
+            }
+            return nodes;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Erreur dans un thread perft", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Énumère les positions atteintes après un nombre donné de demi-coups.
+     * Les fins de partie rencontrées avant ce niveau ne donnent pas de tâche :
+     * elles sont directement comptées comme feuilles.
+     *
+     * @param board Le plateau courant.
+     * @param blackTurn true si les noirs ont le trait.
+     * @param plies Nombre de demi-coups restants avant la découpe.
+     * @param boards Liste recevant les positions à distribuer.
+     * @param turns Liste recevant le trait de chaque position.
+     * @return Le nombre de feuilles (fins de partie) rencontrées pendant la découpe.
+     */
+    private static long split(FastReversiBoard board, boolean blackTurn, int plies,
+                              List<FastReversiBoard> boards, List<Boolean> turns) {
+        if (plies == 0) {
+            boards.add(board);
+            turns.add(blackTurn);
+            return 0;
+        }
+
+        long moves = board.getValidMovesBitmask(blackTurn);
+        if (moves == 0) {
+            if (board.getValidMovesBitmask(!blackTurn) == 0) return 1;
+            return split(board, !blackTurn, plies - 1, boards, turns);
+        }
+
+        long leaves = 0;
+        for (; moves != 0; moves &= moves - 1) {
+            int square = Long.numberOfTrailingZeros(moves);
+            FastReversiBoard child = board.copy();
+            child.makeMove(square, blackTurn);
+            leaves += split(child, !blackTurn, plies - 1, boards, turns);
+        }
+        return leaves;
+    }
+
+    /**
+     * Lit une position au format texte : 64 caractères ('X' noir, 'O' blanc, '-' ou '.' vide),
+     * ligne par ligne, éventuellement suivis du trait (voir {@link #parseTurn(String)}).
+     * Les espaces sont ignorés.
+     *
+     * @param text La position au format texte.
+     * @return Le plateau correspondant.
+     * @throws IllegalArgumentException Si le texte n'est pas une position valide.
+     */
+    public static ReversiPlateau parseBoard(String text) {
+        String s = text.replaceAll("\\s", "");
+        if (s.length() != 64 && s.length() != 65) {
+            throw new IllegalArgumentException("Position invalide (64 cases + trait attendus) : " + text);
+        }
+
+        long noirs = 0L;
+        long blancs = 0L;
+        for (int i = 0; i < 64; i++) {
+            char c = Character.toUpperCase(s.charAt(i));
+            if (c == 'X' || c == '*') noirs |= 1L << i;
+            else if (c == 'O') blancs |= 1L << i;
+            else if (c != '-' && c != '.') {
+                throw new IllegalArgumentException("Caractère inconnu '" + c + "' dans la position : " + text);
+            }
+        }
+        return new ReversiPlateau(noirs, blancs);
+    }
+
+    /**
+     * Lit le trait d'une position au format texte : 65e caractère 'X' (noirs) ou 'O' (blancs).
+     *
+     * @param text La position au format texte.
+     * @return La couleur qui a le trait (NOIR si non précisé).
+     */
+    public static Couleurcase parseTurn(String text) {
+        String s = text.replaceAll("\\s", "");
+        if (s.length() == 65 && Character.toUpperCase(s.charAt(64)) == 'O') return Couleurcase.BLANC;
+        return Couleurcase.NOIR;
+    }
+
+    /**
+     * Représentation texte d'un plateau de référence (une ligne par rangée).
+     *
+     * @param board Le plateau.
+     * @return Le plateau au format texte.
+     */
+    private static String toString(ReversiPlateau board) {
+        return toString(board.getNoirs(), board.getBlancs());
+    }
+
+    /**
+     * Représentation texte d'un plateau bit à bit (une ligne par rangée).
+     *
+     * @param board Le plateau.
+     * @return Le plateau au format texte.
+     */
+    private static String toString(FastReversiBoard board) {
+        return toString(board.black, board.white);
+    }
+
+    /**
+     * Représentation texte de deux masques ('X' noir, 'O' blanc, '-' vide).
+     *
+     * @param black Masque des pions noirs.
+     * @param white Masque des pions blancs.
+     * @return Le plateau au format texte.
+     */
+    private static String toString(long black, long white) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 64; i++) {
+            long bit = 1L << i;
+            sb.append((black & bit) != 0 ? 'X' : (white & bit) != 0 ? 'O' : '-');
+            if (i % 8 == 7) sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Point d'entrée : exécute perft de 1 à la profondeur demandée, d'abord en validation
+     * croisée (jusqu'à la profondeur 8 au plus, la référence étant lente), puis en benchmark
+     * sur FastReversiBoard avec le nombre de threads demandé.
+     *
+     * @param args profondeur [threads] [position].
+     * @throws InterruptedException Si le calcul multi-thread est interrompu.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 9;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        ReversiPlateau board = new ReversiPlateau();
+        board.initialisation();
+        Couleurcase turn = Couleurcase.NOIR;
+        if (args.length > 2) {
+            board = parseBoard(args[2]);
+            turn = parseTurn(args[2]);
+        }
+        boolean blackTurn = (turn == Couleurcase.NOIR);
+        System.out.print(toString(board));
+        System.out.println("Trait : " + turn + ", threads : " + threads);
+
+        // 1. Validation croisée ReversiPlateau / FastReversiBoard
+        for (int d = 1; d <= Math.min(depth, 8); d++) {
+            long start = System.nanoTime();
+            long nodes = perftVerify(board, new FastReversiBoard(board), turn, d);
+            long reference = perft(board, turn, d);
+            if (nodes != reference) {
+                throw new IllegalStateException("Perft " + d + " : " + nodes + " != " + reference);
+            }
+            System.out.println("verif  perft(" + d + ") = " + nodes + " OK (" + elapsedMillis(start) + " ms)");
+        }
+
+        // 2. Benchmark du plateau bit à bit
+        for (FastReversiBoard.MoveGenerator generator : FastReversiBoard.MoveGenerator.values()) {
+            long start = System.nanoTime();
+            long nodes = perftParallel(new FastReversiBoard(board), blackTurn, depth, threads, generator);
+            long elapsed = Math.max(1, System.nanoTime() - start);
+            System.out.println(generator + " perft(" + depth + ") = " + nodes + " en " + elapsed / 1_000_000
+                    + " ms, " + (long) (nodes * 1e9 / elapsed) + " noeuds/s");
+        }
+
+        // 3. Plateau normalisé selon le trait (mono-thread), comparé au résultat précédent
+        long start = System.nanoTime();
+        long nodes = perft(new SideToMoveBoard(board, turn), depth);
+        long elapsed = Math.max(1, System.nanoTime() - start);
+        if (nodes != perft(new FastReversiBoard(board), blackTurn, depth)) {
+            throw new IllegalStateException("SideToMoveBoard perft(" + depth + ") = " + nodes + " incorrect");
+        }
+        System.out.println("SIDE_TO_MOVE perft(" + depth + ") = " + nodes + " en " + elapsed / 1_000_000
+                + " ms, " + (long) (nodes * 1e9 / elapsed) + " noeuds/s (1 thread)");
+    }
+
+    /**
+     * Temps écoulé depuis un instant donné.
+     *
+     * @param start Instant de départ (System.nanoTime()).
+     * @return Le temps écoulé en millisecondes.
+     */
+    private static long elapsedMillis(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
@@ -55,7 +55,8 @@ public class PlayerSelectionDialog extends JDialog {
         blackPlayerCombo = new JComboBox<>(new String[]{
             "Humain", "Bot Aléatoire", "BFS", "DFS", "Dijkstra", 
             "Greedy BFS Bot", "A*", "AlphaBeta", "Monte Carlo", 
-            "AlphaBeta Rapide", "Dijkstra Rapide"
+            "AlphaBeta Rapide", "AlphaBeta Rapide Motifs", "AlphaBeta Rapide 1s", "AlphaBeta Rapide SMP",
+            "Dijkstra Rapide"
         });
         blackPlayerCombo.setFocusable(false); // Désactive le focus visuel
         blackPlayerCombo.setSelectedItem("Humain"); // Valeur par défaut
@@ -66,7 +67,8 @@ public class PlayerSelectionDialog extends JDialog {
         whitePlayerCombo = new JComboBox<>(new String[]{
             "Humain", "Bot Aléatoire", "BFS", "DFS", "Dijkstra", 
             "Greedy BFS Bot", "A*", "AlphaBeta", "Monte Carlo", 
-            "AlphaBeta Rapide", "Dijkstra Rapide"
+            "AlphaBeta Rapide", "AlphaBeta Rapide Motifs", "AlphaBeta Rapide 1s", "AlphaBeta Rapide SMP",
+            "Dijkstra Rapide"
         });
         whitePlayerCombo.setFocusable(false); // Désactive le focus visuel
         whitePlayerCombo.setSelectedItem("Bot Aléatoire"); // Valeur par défaut
@@ -125,25 +127,14 @@ public class PlayerSelectionDialog extends JDialog {
     
     /**
      * Crée une instance de joueur selon le type sélectionné.
+     * Les bots sont créés par {@link Tests#createBot(Couleurcase, String)}, comme pour les tests.
      *
      * @param color La couleur du joueur à créer (NOIR ou BLANC).
      * @param playerType Le type de joueur sélectionné (chaîne descriptive).
      * @return Une instance de Player correspondante.
      */
     private Player createPlayer(Couleurcase color, String playerType) {
-        switch (playerType) {
-            case "Humain": return new HumanPlayer(color);
-            case "Bot Aléatoire": return new RandomBot(color);
-            case "BFS": return new BFSBot(color);
-            case "DFS": return new DFSBot(color);
-            case "Dijkstra": return new DijkstraBot(color);
-            case "Greedy BFS Bot": return new GreedyBFSBot(color);
-            case "A*": return new AstarBot(color);
-            case "AlphaBeta": return new AlphaBetaBot(color, 8);
-            case "Monte Carlo": return new MonteCarloBot(color);
-            case "AlphaBeta Rapide": return new AlphaBetaBotRapide(color, 8);
-            case "Dijkstra Rapide": return new DijkstraBotRapide(color);
-            default: return new RandomBot(color);
-        }
+        if (playerType.equals("Humain")) return new HumanPlayer(color);
+        return Tests.createBot(color, playerType);
     }
 }
@@ -0,0 +1,195 @@
+package reversi;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Outil hors ligne d'ajustement des paramètres de Multi-ProbCut ({@link ProbCutParameters}).
+ *
+ * Des parties d'auto-jeu d'AlphaBetaBotRapide (profondeur 2, ouvertures et quelques coups aléatoires
+ * pour varier les positions) fournissent les positions. Chacune est cherchée à toutes les profondeurs
+ * de 1 à la profondeur maximale ; pour chaque phase de jeu et chaque profondeur d, une régression
+ * linéaire (moindres carrés) du score à la profondeur d sur le score à la profondeur courte donne
+ * la pente, l'ordonnée à l'origine et l'écart-type des résidus. Les scores de fin de partie,
+ * hors de l'échelle de l'évaluation, sont écartés.
+ *
+ * Utilisation : {@code java reversi.ProbCutFitter [parties] [profondeur max] [fichier] [motifs]}
+ * (avec {@code motifs}, l'évaluation par motifs de PatternEvaluator remplace les poids des cases).
+ */
+public class ProbCutFitter {
+
+    /** Graine des parties d'auto-jeu. */
+    private static final long SEED = 2025L;
+
+    /** Nombre de demi-coups aléatoires en début de partie. */
+    private static final int RANDOM_OPENING = 8;
+
+    /** Probabilité de jouer un coup aléatoire après l'ouverture. */
+    private static final double RANDOM_MOVE_RATE = 0.1;
+
+    /** Nombre minimal de couples de scores pour ajuster un couple (phase, profondeur). */
+    private static final int MIN_SAMPLES = 30;
+
+    /**
+     * Sommes d'une régression linéaire simple de y sur x.
+     */
+    static final class Regression {
+        /** Nombre de points. */
+        long n;
+
+        /** Sommes des x, des y, des x², des xy et des y². */
+        double sx, sy, sxx, sxy, syy;
+
+        /**
+         * Ajoute un point.
+         *
+         * @param x Score de la recherche courte.
+         * @param y Score de la recherche complète.
+         */
+        void add(double x, double y) {
+            n++;
+            sx += x;
+            sy += y;
+            sxx += x * x;
+            sxy += x * y;
+            syy += y * y;
+        }
+
+        /**
+         * Pente de la droite des moindres carrés.
+         *
+         * @return La pente a.
+         */
+        double slope() {
+            double vx = n * sxx - sx * sx;
+            return (vx == 0) ? 0.0 : (n * sxy - sx * sy) / vx;
+        }
+
+        /**
+         * Ordonnée à l'origine de la droite des moindres carrés.
+         *
+         * @return L'ordonnée à l'origine b.
+         */
+        double intercept() {
+            return (sy - slope() * sx) / n;
+        }
+
+        /**
+         * Écart-type des résidus y - (a * x + b).
+         *
+         * @return L'écart-type sigma.
+         */
+        double sigma() {
+            double a = slope(), b = intercept();
+            double residuals = syy - 2 * a * sxy - 2 * b * sy + a * a * sxx + 2 * a * b * sx + n * b * b;
+            return Math.sqrt(Math.max(0.0, residuals) / Math.max(1, n - 2));
+        }
+    }
+
+    /**
+     * Génère les positions de parties d'auto-jeu : toutes celles qui ont au moins
+     * {@code minEmpties} cases vides et un coup possible.
+     *
+     * @param games Nombre de parties.
+     * @param minEmpties Nombre minimal de cases vides d'une position retenue.
+     * @return Les positions, normalisées selon le trait.
+     */
+    static List<SideToMoveBoard> selfPlayPositions(int games, int minEmpties) {
+        Random random = new Random(SEED);
+        List<SideToMoveBoard> positions = new ArrayList<>();
+        AlphaBetaBotRapide[] bots = {
+                new AlphaBetaBotRapide(Couleurcase.NOIR, 2).withEndgameSolver(0, true),
+                new AlphaBetaBotRapide(Couleurcase.BLANC, 2).withEndgameSolver(0, true)};
+        for (int game = 0; game < games; game++) {
+            ReversiPlateau board = new ReversiPlateau();
+            board.initialisation();
+            Couleurcase turn = Couleurcase.NOIR;
+            for (int ply = 0; !board.GameOver(); ply++) {
+                List<Move> moves = board.getValidMoves(turn);
+                if (!moves.isEmpty()) {
+                    SideToMoveBoard position = new SideToMoveBoard(board, turn);
+                    if (position.getEmptyCount() >= minEmpties) positions.add(position);
+                    Move move = (ply < RANDOM_OPENING || random.nextDouble() < RANDOM_MOVE_RATE)
+                            ? moves.get(random.nextInt(moves.size()))
+                            : bots[turn == Couleurcase.NOIR ? 0 : 1].getMove(board.copy());
+                    board.placePion(move, turn);
+                }
+                turn = turn.oppose();
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Ajuste les paramètres de ProbCut sur des positions.
+     *
+     * @param positions Les positions.
+     * @param maxDepth Profondeur maximale ajustée.
+     * @param patterns true pour l'évaluation par motifs.
+     * @return Les paramètres ajustés.
+     */
+    static ProbCutParameters fit(List<SideToMoveBoard> positions, int maxDepth, boolean patterns) {
+        // Scores de chaque position à chaque profondeur, calculés en parallèle (un bot par thread)
+        int[][] scores = new int[positions.size()][];
+        ThreadLocal<AlphaBetaBotRapide> bots = ThreadLocal.withInitial(() -> patterns
+                ? new AlphaBetaBotRapide(Couleurcase.NOIR, maxDepth, PatternEvaluator.getInstance())
+                : new AlphaBetaBotRapide(Couleurcase.NOIR, maxDepth));
+        IntStream.range(0, positions.size()).parallel().forEach(i -> {
+            SideToMoveBoard board = positions.get(i).copy();
+            if (patterns) board.attachPatterns();
+            int[] values = new int[maxDepth + 1];
+            for (int depth = 1; depth <= maxDepth; depth++) values[depth] = bots.get().searchValue(board, depth);
+            scores[i] = values;
+        });
+
+        Regression[][] regressions = new Regression[ProbCutParameters.PHASES][maxDepth + 1];
+        for (int i = 0; i < positions.size(); i++) {
+            int phase = ProbCutParameters.phase(64 - positions.get(i).getEmptyCount());
+            for (int depth = ProbCutParameters.MIN_DEPTH; depth <= maxDepth; depth++) {
+                int shallow = scores[i][ProbCutParameters.shallowDepth(depth)];
+                int deep = scores[i][depth];
+                if (Math.abs(shallow) >= EndgameSolver.WIN_SCORE / 2 || Math.abs(deep) >= EndgameSolver.WIN_SCORE / 2) continue;
+                if (regressions[phase][depth] == null) regressions[phase][depth] = new Regression();
+                regressions[phase][depth].add(shallow, deep);
+            }
+        }
+
+        ProbCutParameters parameters = new ProbCutParameters();
+        for (int phase = 0; phase < ProbCutParameters.PHASES; phase++) {
+            for (int depth = ProbCutParameters.MIN_DEPTH; depth <= maxDepth; depth++) {
+                Regression r = regressions[phase][depth];
+                if (r == null || r.n < MIN_SAMPLES) continue;
+                parameters.set(phase, depth, r.slope(), r.intercept(), r.sigma());
+                System.out.printf("phase %d  profondeur %2d/%d  %6d points  a %.3f  b %8.2f  sigma %8.2f%n",
+                        phase, depth, ProbCutParameters.shallowDepth(depth), r.n, r.slope(), r.intercept(), r.sigma());
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * Point d'entrée : génère les positions, ajuste les paramètres et les enregistre.
+     *
+     * @param args [parties] [profondeur max] [fichier] [motifs].
+     * @throws IOException En cas d'erreur d'écriture du fichier.
+     */
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int maxDepth = Math.min(ProbCutParameters.MAX_DEPTH, args.length > 1 ? Integer.parseInt(args[1]) : 8);
+        Path file = Paths.get(args.length > 2 ? args[2] : ProbCutParameters.DEFAULT_FILE);
+        boolean patterns = args.length > 3 && args[3].equals("motifs");
+
+        long start = System.nanoTime();
+        List<SideToMoveBoard> positions = selfPlayPositions(games, maxDepth + 1);
+        System.out.println(positions.size() + " positions issues de " + games + " parties, profondeurs 1 à " + maxDepth);
+        ProbCutParameters parameters = fit(positions, maxDepth, patterns);
+        parameters.save(file);
+        System.out.println("Paramètres enregistrés dans " + file + " ("
+                + (System.nanoTime() - start) / 1_000_000 + " ms)");
+    }
+}
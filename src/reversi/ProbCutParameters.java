@@ -0,0 +1,181 @@
+package reversi;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Paramètres de Multi-ProbCut : pour chaque phase de jeu et chaque profondeur d, une régression
+ * linéaire relie le score v' d'une recherche courte (profondeur {@link #shallowDepth(int)}) au
+ * score v de la recherche de profondeur d : v = a * v' + b + e, où l'erreur e a pour écart-type sigma.
+ * Une recherche courte suffit alors à prédire, avec une probabilité réglable, qu'un noeud sortira
+ * de la fenêtre (alpha, beta) : voir AlphaBetaBotRapide.
+ *
+ * Les paramètres sont ajustés hors ligne par {@link ProbCutFitter} et enregistrés dans un fichier
+ * texte, une ligne par couple (phase, profondeur) : {@code phase profondeur profondeur_courte a b sigma}.
+ * Les lignes vides et celles qui commencent par {@code #} sont ignorées.
+ */
+public class ProbCutParameters {
+
+    /** Nom du fichier de paramètres utilisé par défaut (dans le répertoire courant). */
+    public static final String DEFAULT_FILE = "probcut.txt";
+
+    /** Nombre de phases de jeu (tranches du nombre de pions sur le plateau). */
+    public static final int PHASES = 4;
+
+    /** Plus petite profondeur à laquelle ProbCut s'applique. */
+    public static final int MIN_DEPTH = 3;
+
+    /** Plus grande profondeur à laquelle ProbCut s'applique. */
+    public static final int MAX_DEPTH = 16;
+
+    /** Pente a de la régression : [phase][profondeur]. */
+    private final double[][] slope = new double[PHASES][MAX_DEPTH + 1];
+
+    /** Ordonnée à l'origine b de la régression : [phase][profondeur]. */
+    private final double[][] intercept = new double[PHASES][MAX_DEPTH + 1];
+
+    /** Écart-type sigma de l'erreur : [phase][profondeur] (0 si le couple n'est pas ajusté). */
+    private final double[][] sigma = new double[PHASES][MAX_DEPTH + 1];
+
+    /**
+     * Profondeur de la recherche courte associée à une profondeur : environ la moitié,
+     * de même parité (les évaluations d'Othello oscillent selon le joueur qui a joué en dernier).
+     *
+     * @param depth La profondeur de la recherche complète.
+     * @return La profondeur de la recherche courte (au moins 1).
+     */
+    public static int shallowDepth(int depth) {
+        int shallow = depth / 2;
+        if (((depth - shallow) & 1) != 0) shallow--;
+        return Math.max(1, shallow);
+    }
+
+    /**
+     * Phase de jeu d'une position, selon le nombre de pions (comme les tables de PatternEvaluator).
+     *
+     * @param discs Nombre de pions sur le plateau (4 à 64).
+     * @return La phase (0 à {@link #PHASES} - 1).
+     */
+    public static int phase(int discs) {
+        return Math.min(PHASES - 1, Math.max(0, discs - 4) * PHASES / 61);
+    }
+
+    /**
+     * Indique si ProbCut dispose de paramètres pour une phase et une profondeur.
+     *
+     * @param phase La phase de jeu.
+     * @param depth La profondeur.
+     * @return true si le couple a été ajusté (écart-type et pente strictement positifs).
+     */
+    public boolean has(int phase, int depth) {
+        return depth >= MIN_DEPTH && depth <= MAX_DEPTH && sigma[phase][depth] > 0 && slope[phase][depth] > 0;
+    }
+
+    /**
+     * Pente de la régression.
+     *
+     * @param phase La phase de jeu.
+     * @param depth La profondeur.
+     * @return La pente a.
+     */
+    public double getSlope(int phase, int depth) {
+        return slope[phase][depth];
+    }
+
+    /**
+     * Ordonnée à l'origine de la régression.
+     *
+     * @param phase La phase de jeu.
+     * @param depth La profondeur.
+     * @return L'ordonnée à l'origine b.
+     */
+    public double getIntercept(int phase, int depth) {
+        return intercept[phase][depth];
+    }
+
+    /**
+     * Écart-type de l'erreur de la régression.
+     *
+     * @param phase La phase de jeu.
+     * @param depth La profondeur.
+     * @return L'écart-type sigma (0 si le couple n'est pas ajusté).
+     */
+    public double getSigma(int phase, int depth) {
+        return sigma[phase][depth];
+    }
+
+    /**
+     * Fixe les paramètres d'un couple (phase, profondeur).
+     *
+     * @param phase La phase de jeu.
+     * @param depth La profondeur ({@link #MIN_DEPTH} à {@link #MAX_DEPTH}).
+     * @param a La pente.
+     * @param b L'ordonnée à l'origine.
+     * @param s L'écart-type de l'erreur (strictement positif pour activer le couple).
+     */
+    public void set(int phase, int depth, double a, double b, double s) {
+        if (depth < MIN_DEPTH || depth > MAX_DEPTH) throw new IllegalArgumentException("Profondeur hors limites : " + depth);
+        slope[phase][depth] = a;
+        intercept[phase][depth] = b;
+        sigma[phase][depth] = s;
+    }
+
+    /**
+     * Charge les paramètres depuis un fichier texte.
+     *
+     * @param file Le fichier de paramètres.
+     * @return Les paramètres chargés.
+     * @throws IOException Si le fichier est illisible ou mal formé.
+     */
+    public static ProbCutParameters load(Path file) throws IOException {
+        ProbCutParameters parameters = new ProbCutParameters();
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int number = 0;
+            while ((line = in.readLine()) != null) {
+                number++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                String[] fields = line.split("\\s+");
+                try {
+                    int phase = Integer.parseInt(fields[0]);
+                    int depth = Integer.parseInt(fields[1]);
+                    if (fields.length != 6 || phase < 0 || phase >= PHASES || Integer.parseInt(fields[2]) != shallowDepth(depth)) {
+                        throw new IOException("Ligne " + number + " invalide : " + line);
+                    }
+                    parameters.set(phase, depth, Double.parseDouble(fields[3]), Double.parseDouble(fields[4]),
+                            Double.parseDouble(fields[5]));
+                } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                    throw new IOException("Ligne " + number + " invalide : " + line);
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Ligne " + number + " : " + e.getMessage());
+                }
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * Enregistre les paramètres dans un fichier texte (format de {@link #load(Path)}).
+     *
+     * @param file Le fichier à écrire.
+     * @throws IOException En cas d'erreur d'écriture.
+     */
+    public void save(Path file) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.println("# ProbCut : phase profondeur profondeur_courte a b sigma");
+            for (int phase = 0; phase < PHASES; phase++) {
+                for (int depth = MIN_DEPTH; depth <= MAX_DEPTH; depth++) {
+                    if (!has(phase, depth)) continue;
+                    out.printf(Locale.ROOT, "%d %d %d %.4f %.4f %.4f%n", phase, depth, shallowDepth(depth),
+                            slope[phase][depth], intercept[phase][depth], sigma[phase][depth]);
+                }
+            }
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package reversi;
 
-import java.util.List;
 import java.util.Random;
 
 /**
@@ -30,15 +29,15 @@ public class RandomBot extends BotPlayer {
      * @return Un coup valide choisi aléatoirement, ou null si aucun coup n'est possible.
      */
     public Move getMove(ReversiPlateau board) {
-        // Récupère tous les coups valides pour le joueur actuel
-        List<Move> validMoves = board.getValidMoves(this.color);
+        // Récupère tous les coups valides pour le joueur actuel (masque binaire)
+        long validMoves = board.getValidMovesMask(this.color);
         
         // Si aucun coup valide, le bot ne peut pas jouer (passe son tour)
-        if (validMoves.isEmpty()) {
+        if (validMoves == 0) {
             return null;
         }
         
-        // Choisit un coup au hasard dans la liste
-        return validMoves.get(rand.nextInt(validMoves.size()));
+        // Choisit un coup au hasard : la k-ième case du masque, k tiré au sort
+        return Move.of(FastReversiBoard.nthSquare(validMoves, rand.nextInt(Long.bitCount(validMoves))));
     }
 }
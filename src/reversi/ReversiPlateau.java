@@ -2,24 +2,52 @@ package reversi;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Classe représentant le plateau de jeu Reversi (Othello).
  * Gère l'état du jeu, la logique des coups, les règles et les vérifications.
+ * L'état est stocké sous forme de deux masques binaires (un pour les noirs, un pour les blancs),
+ * ce qui rend la copie et le comptage des pions quasi gratuits et permet aux bots optimisés
+ * de lire directement ces masques sans conversion.
  */
 public class ReversiPlateau {
     
     /** Taille du plateau (8x8 pour le Reversi standard). */
     public static final int taille = 8;
     
-    /** Tableau 2D représentant l'état du plateau. */
-    private Couleurcase[][] plateau;
+    /**
+     * Masque binaire des pions noirs. Le bit d'index {@code x * 8 + y} est à 1
+     * si la case (x, y) contient un pion noir (même convention que FastReversiBoard).
+     */
+    private long noirs;
+    
+    /** Masque binaire des pions blancs, même convention que {@link #noirs}. */
+    private long blancs;
+    
+    /** Les 8 directions (dx, dy) : Haut, Bas, Gauche, Droite, puis les 4 diagonales. */
+    private static final int[][] DIRECTIONS = {
+        {-1, 0}, {1, 0}, {0, -1}, {0, 1},
+        {-1, -1}, {-1, 1}, {1, -1}, {1, 1}
+    };
     
     /**
      * Constructeur du plateau. Crée un plateau 8x8 vide.
      */
     public ReversiPlateau() {
-        plateau = new Couleurcase[taille][taille];
+        noirs = 0L;
+        blancs = 0L;
+    }
+    
+    /**
+     * Constructeur direct à partir de masques binaires.
+     *
+     * @param noirs Masque binaire des pions noirs.
+     * @param blancs Masque binaire des pions blancs.
+     */
+    public ReversiPlateau(long noirs, long blancs) {
+        this.noirs = noirs;
+        this.blancs = blancs;
     }
     
     /**
@@ -27,18 +55,28 @@ public class ReversiPlateau {
      * 4 pions au centre dans la configuration croisée standard.
      */
     public void initialisation() {
-        // Initialise toutes les cases comme vides
-        for (int i = 0; i < taille; i++) {
-            for (int j = 0; j < taille; j++) {
-                plateau[i][j] = Couleurcase.VIDE;
-            }
-        }
-        
-        // Place les 4 pions initiaux au centre
-        plateau[3][3] = Couleurcase.BLANC;
-        plateau[3][4] = Couleurcase.NOIR;
-        plateau[4][3] = Couleurcase.NOIR;
-        plateau[4][4] = Couleurcase.BLANC;
+        // Place les 4 pions initiaux au centre, toutes les autres cases sont vides
+        // Blancs en (3,3) et (4,4), noirs en (3,4) et (4,3)
+        blancs = (1L << (3 * taille + 3)) | (1L << (4 * taille + 4));
+        noirs = (1L << (3 * taille + 4)) | (1L << (4 * taille + 3));
+    }
+    
+    /**
+     * Retourne le masque binaire des pions noirs (accès direct, sans conversion).
+     *
+     * @return Masque binaire des pions noirs (bit x * 8 + y).
+     */
+    public long getNoirs() {
+        return noirs;
+    }
+    
+    /**
+     * Retourne le masque binaire des pions blancs (accès direct, sans conversion).
+     *
+     * @return Masque binaire des pions blancs (bit x * 8 + y).
+     */
+    public long getBlancs() {
+        return blancs;
     }
     
     /**
@@ -49,7 +87,10 @@ public class ReversiPlateau {
      * @return La couleur de la case (VIDE, BLANC, ou NOIR).
      */
     public Couleurcase getEtat(int x, int y) {
-        return plateau[x][y];
+        long bit = 1L << (x * taille + y);
+        if ((noirs & bit) != 0) return Couleurcase.NOIR;
+        if ((blancs & bit) != 0) return Couleurcase.BLANC;
+        return Couleurcase.VIDE;
     }
     
     /**
@@ -65,20 +106,14 @@ public class ReversiPlateau {
     public boolean isMoveValid(Move move, Couleurcase couleurcase) {
         
         // Règle 1 : La case doit être vide et dans les limites du plateau.
-        if (!isWithinBounds(move.x, move.y) || plateau[move.x][move.y] != Couleurcase.VIDE) {
+        if (!isWithinBounds(move.x, move.y) || getEtat(move.x, move.y) != Couleurcase.VIDE) {
             return false;
         }
 
         Couleurcase couleurOppose = couleurcase.oppose();
-        
-        // Définit les 8 directions (dx, dy)
-        int[][] directions = {
-            {-1, 0}, {1, 0}, {0, -1}, {0, 1},  // Haut, Bas, Gauche, Droite
-            {-1, -1}, {-1, 1}, {1, -1}, {1, 1} // Diagonales
-        };
 
         // Règle 2 : Vérifie dans les 8 directions si on "encadre" au moins un pion adverse.
-        for (int[] dir : directions) {
+        for (int[] dir : DIRECTIONS) {
             int dx = dir[0];
             int dy = dir[1];
 
@@ -88,7 +123,7 @@ public class ReversiPlateau {
             boolean OpposeTrouve = false; // Indique si au moins un pion adverse a été trouvé dans cette direction
 
             // Avance dans cette direction tant qu'on est sur le plateau et qu'on rencontre des pions adverses.
-            while (isWithinBounds(currentX, currentY) && plateau[currentX][currentY] == couleurOppose) {
+            while (isWithinBounds(currentX, currentY) && getEtat(currentX, currentY) == couleurOppose) {
                 OpposeTrouve = true;
                 currentX += dx;
                 currentY += dy;
@@ -101,7 +136,7 @@ public class ReversiPlateau {
 
             // Le coup est valide si on a trouvé au moins un pion adverse
             // et si la ligne de pions adverses se termine par un pion de notre couleur.
-            if (OpposeTrouve && isWithinBounds(currentX, currentY) && plateau[currentX][currentY] == couleurcase) {
+            if (OpposeTrouve && isWithinBounds(currentX, currentY) && getEtat(currentX, currentY) == couleurcase) {
                 // Ce coup est valide. Inutile de vérifier les autres directions.
                 return true;
             }
@@ -114,82 +149,86 @@ public class ReversiPlateau {
     
     /**
      * Place un pion sur le plateau et retourne tous les pions adverses capturés.
-     * Applique les règles du Reversi pour retourner les pions.
+     * Les pions à retourner sont calculés d'un coup par {@link FastReversiBoard#computeFlips(int, long, long)},
+     * puis appliqués aux deux masques en une seule mise à jour.
      *
      * @param move Le coup à jouer.
      * @param couleurcase La couleur du joueur qui joue.
      */
     public void placePion(Move move, Couleurcase couleurcase) {
-        // 1. Place le pion du joueur
-        plateau[move.x][move.y] = couleurcase;
-
-        Couleurcase couleurOppose = couleurcase.oppose();
-
-        // 2. Définit les 8 directions (dx, dy)
-        int[][] directions = {
-            {-1, 0}, {1, 0}, {0, -1}, {0, 1},  // Haut, Bas, Gauche, Droite
-            {-1, -1}, {-1, 1}, {1, -1}, {1, 1} // Diagonales
-        };
-
-        // 3. Parcourt chaque direction pour trouver des pions à retourner
-        for (int[] dir : directions) {
-            int dx = dir[0];
-            int dy = dir[1];
-
-            int currentX = move.x + dx;
-            int currentY = move.y + dy;
-
-            boolean OpposeTrouve = false;
-
-            // Avance dans cette direction tant qu'on trouve des pions adverses
-            while (isWithinBounds(currentX, currentY) && plateau[currentX][currentY] == couleurOppose) {
-                OpposeTrouve = true;
-                currentX += dx;
-                currentY += dy;
-            }
-
-            // Si on a trouvé au moins un pion adverse et que la ligne se termine
-            // par un pion de notre couleur (on a "pris en sandwich")
-            if (OpposeTrouve && isWithinBounds(currentX, currentY) && plateau[currentX][currentY] == couleurcase) {
-                
-                // 4. Remonte la ligne en arrière pour retourner les pions
-                int flipX = move.x + dx;
-                int flipY = move.y + dy;
-
-                // S'arrête juste avant d'atteindre le pion de notre couleur
-                while (flipX != currentX || flipY != currentY) {
-                    plateau[flipX][flipY] = couleurcase; // Retourne le pion
-                    flipX += dx;
-                    flipY += dy;
-                }
-            }
+        long bit = 1L << move.index();
+        // La case est libérée avant le calcul (le générateur suppose une case vide)
+        noirs &= ~bit;
+        blancs &= ~bit;
+        if (couleurcase == Couleurcase.NOIR) {
+            long flipped = FastReversiBoard.computeFlips(move.index(), noirs, blancs);
+            noirs |= bit | flipped;
+            blancs &= ~flipped;
+        } else if (couleurcase == Couleurcase.BLANC) {
+            long flipped = FastReversiBoard.computeFlips(move.index(), blancs, noirs);
+            blancs |= bit | flipped;
+            noirs &= ~flipped;
         }
     }
     
     /**
      * Retourne la liste de tous les coups valides pour un joueur donné.
+     * La liste est construite à partir de {@link #getValidMovesMask(Couleurcase)} et ne contient
+     * que les instances partagées de Move.
      *
      * @param couleurcase La couleur du joueur.
      * @return Une liste de Move représentant tous les coups valides.
      */
     public List<Move> getValidMoves(Couleurcase couleurcase) {
-        List<Move> validMoves = new ArrayList<>();
+        long mask = getValidMovesMask(couleurcase);
+        List<Move> validMoves = new ArrayList<>(Long.bitCount(mask));
         
-        // Parcourt toutes les cases du plateau
-        for (int i = 0; i < taille; i++) {
-            for (int j = 0; j < taille; j++) {
-                
-                Move potentialMove = new Move(i, j);
-                
-                // Si le coup (i, j) est valide, l'ajoute à la liste
-                if (isMoveValid(potentialMove, couleurcase)) {
-                    validMoves.add(potentialMove);
-                }
-            }
+        // Parcourt uniquement les bits à 1 du masque (un par coup valide)
+        for (; mask != 0; mask &= mask - 1) {
+            validMoves.add(Move.of(Long.numberOfTrailingZeros(mask)));
         }
         return validMoves;
     }
     
+    /**
+     * Retourne les coups valides d'un joueur sous forme de masque binaire (bit x * 8 + y).
+     * Calculé en une passe par le générateur bit à bit de FastReversiBoard, sans allocation.
+     * Le nombre de coups valides est {@code Long.bitCount(mask)}.
+     *
+     * @param couleurcase La couleur du joueur.
+     * @return Masque binaire des coups valides (0 si aucun coup ou si la couleur est VIDE).
+     */
+    public long getValidMovesMask(Couleurcase couleurcase) {
+        if (couleurcase == Couleurcase.NOIR) return FastReversiBoard.validMoves(noirs, blancs);
+        if (couleurcase == Couleurcase.BLANC) return FastReversiBoard.validMoves(blancs, noirs);
+        return 0L;
+    }
+    
+    /**
+     * Indique si un joueur a au moins un coup valide.
+     *
+     * @param couleurcase La couleur du joueur.
+     * @return true si le joueur peut jouer, false s'il doit passer son tour.
+     */
+    public boolean hasAnyMove(Couleurcase couleurcase) {
+        return getValidMovesMask(couleurcase) != 0;
+    }
+    
+    /**
+     * Applique une action à chaque coup valide d'un joueur, sans créer de liste ni de Move :
+     * les coups sont parcourus directement dans le masque et fournis sous forme d'instances partagées.
+     * Dans les boucles les plus critiques, on peut aussi parcourir le masque soi-même :
+     * {@code for (long m = getValidMovesMask(c); m != 0; m &= m - 1) { Move.of(Long.numberOfTrailingZeros(m)); }}
+     *
+     * @param couleurcase La couleur du joueur.
+     * @param action L'action à appliquer à chaque coup valide.
+     */
+    public void forEachValidMove(Couleurcase couleurcase, Consumer<? super Move> action) {
+        for (long mask = getValidMovesMask(couleurcase); mask != 0; mask &= mask - 1) {
+            action.accept(Move.of(Long.numberOfTrailingZeros(mask)));
+        }
+    }
+    
     /**
      * Vérifie si des coordonnées sont dans les limites du plateau.
      *
@@ -209,13 +248,10 @@ public class ReversiPlateau {
      * @return Le nombre de pions de cette couleur sur le plateau.
      */
     public int getScore(Couleurcase couleurcase) {
-        int Score = 0;
-        for (int i = 0; i < taille; i++) {
-            for (int j = 0; j < taille; j++) {
-                if (plateau[i][j] == couleurcase) Score++;
-            }
-        }
-        return Score;
+        // Compte les bits à 1 du masque correspondant
+        if (couleurcase == Couleurcase.NOIR) return Long.bitCount(noirs);
+        if (couleurcase == Couleurcase.BLANC) return Long.bitCount(blancs);
+        return Long.bitCount(~(noirs | blancs)); // Cases vides
     }
     
     /**
@@ -225,7 +261,8 @@ public class ReversiPlateau {
      * @return true si la partie est terminée, false sinon.
      */
     public boolean GameOver() {
-        return getValidMoves(Couleurcase.NOIR).isEmpty() && getValidMoves(Couleurcase.BLANC).isEmpty();
+        // S'arrête dès que les noirs ont un coup : les coups des blancs ne sont alors pas calculés
+        return !hasAnyMove(Couleurcase.NOIR) && !hasAnyMove(Couleurcase.BLANC);
     }
     
     /**
@@ -235,17 +272,7 @@ public class ReversiPlateau {
      * @return Une nouvelle instance de ReversiPlateau avec le même état.
      */
     public ReversiPlateau copy() {
-        
-        ReversiPlateau newBoard = new ReversiPlateau();
-        
-        // Copie toutes les cases
-        for (int i = 0; i < taille; i++) {
-            for (int j = 0; j < taille; j++) {
-                // Copie la valeur (BLANC, NOIR, ou VIDE)
-                newBoard.plateau[i][j] = this.plateau[i][j];
-            }
-        }
-        
-        return newBoard;
+        // Les deux masques suffisent à décrire entièrement le plateau
+        return new ReversiPlateau(noirs, blancs);
     }
 }
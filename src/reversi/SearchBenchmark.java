@@ -0,0 +1,307 @@
+package reversi;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Banc d'essai de la recherche d'AlphaBetaBotRapide : chaque configuration du bot cherche
+ * le meilleur coup d'un même ensemble de positions de milieu de partie, et l'outil affiche
+ * le nombre de noeuds, le temps et le facteur de branchement effectif.
+ *
+ * Les positions sont obtenues par des parties aléatoires à partir d'une graine fixe :
+ * elles sont identiques d'une exécution à l'autre, ce qui rend les comparaisons reproductibles.
+ *
+ * Utilisation : {@code java reversi.SearchBenchmark [profondeur] [positions] [demi-coups]},
+ * ou {@code java reversi.SearchBenchmark smp [budget ms] [threads max] [positions]} pour mesurer
+ * l'accélération de la recherche Lazy SMP de 1 à N threads, ou encore
+ * {@code java reversi.SearchBenchmark ybw [profondeur] [threads max] [positions]} pour comparer
+ * la recherche Young Brothers Wait (ForkJoinPool) à la recherche séquentielle, à profondeur fixe,
+ * ou enfin {@code java reversi.SearchBenchmark endgame [cases vides] [positions]} pour mesurer
+ * la résolution exacte des fins de partie, ou
+ * {@code java reversi.SearchBenchmark probcut [profondeur] [fichier] [parties] [budget ms]} pour comparer
+ * Multi-ProbCut à la recherche sans élagage sélectif (noeuds, puis parties l'une contre l'autre).
+ */
+public class SearchBenchmark {
+
+    /** Graine des parties aléatoires qui produisent les positions de test. */
+    private static final long SEED = 2025L;
+
+    /**
+     * Position de test : un plateau et la couleur qui a le trait.
+     */
+    static class Position {
+        /** Le plateau. */
+        final ReversiPlateau board;
+
+        /** La couleur qui a le trait. */
+        final Couleurcase turn;
+
+        /**
+         * Constructeur.
+         *
+         * @param board Le plateau.
+         * @param turn La couleur qui a le trait.
+         */
+        Position(ReversiPlateau board, Couleurcase turn) {
+            this.board = board;
+            this.turn = turn;
+        }
+    }
+
+    /**
+     * Génère des positions par parties aléatoires reproductibles.
+     * Les positions sans coup pour le joueur au trait sont écartées.
+     *
+     * @param count Nombre de positions.
+     * @param plies Nombre de demi-coups aléatoires joués depuis la position de départ.
+     * @return Les positions.
+     */
+    static List<Position> positions(int count, int plies) {
+        Random random = new Random(SEED);
+        List<Position> positions = new ArrayList<>();
+        while (positions.size() < count) {
+            ReversiPlateau board = new ReversiPlateau();
+            board.initialisation();
+            Couleurcase turn = Couleurcase.NOIR;
+            for (int i = 0; i < plies && !board.GameOver(); i++) {
+                List<Move> moves = board.getValidMoves(turn);
+                if (!moves.isEmpty()) board.placePion(moves.get(random.nextInt(moves.size())), turn);
+                turn = turn.oppose();
+            }
+            if (board.hasAnyMove(turn)) positions.add(new Position(board, turn));
+        }
+        return positions;
+    }
+
+    /**
+     * Fait chercher toutes les positions par une configuration du bot et affiche le bilan.
+     *
+     * @param name Nom de la configuration.
+     * @param positions Les positions de test.
+     * @param depth Profondeur de recherche.
+     * @param factory Crée le bot pour une couleur donnée.
+     * @return Le nombre total de noeuds.
+     */
+    static long run(String name, List<Position> positions, int depth,
+                    Function<Couleurcase, AlphaBetaBotRapide> factory) {
+        long nodes = 0;
+        long start = System.nanoTime();
+        for (Position position : positions) {
+            AlphaBetaBotRapide bot = factory.apply(position.turn);
+            bot.getMove(position.board.copy());
+            nodes += bot.getNodes();
+        }
+        long elapsed = Math.max(1, System.nanoTime() - start);
+        double ebf = Math.pow((double) nodes / positions.size(), 1.0 / depth);
+        System.out.printf("%-28s %12d noeuds %8d ms %12d noeuds/s  EBF %.2f%n",
+                name, nodes, elapsed / 1_000_000, (long) (nodes * 1e9 / elapsed), ebf);
+        return nodes;
+    }
+
+    /**
+     * Mesure la recherche Lazy SMP avec un budget de temps fixe par coup, pour 1, 2, 4... threads
+     * jusqu'à N : le débit en noeuds par seconde (tous threads confondus) et la profondeur moyenne
+     * atteinte. Chaque nombre de threads utilise sa propre table, de même taille.
+     *
+     * @param positions Les positions de test.
+     * @param budget Budget de temps par coup, en millisecondes.
+     * @param maxThreads Nombre maximal de threads.
+     */
+    static void runSmp(List<Position> positions, long budget, int maxThreads) {
+        double baseRate = 0;
+        for (int threads = 1; threads <= maxThreads; threads = (threads == maxThreads) ? threads + 1 : Math.min(threads * 2, maxThreads)) {
+            AlphaBetaBotRapide[] bots = {
+                    new AlphaBetaBotRapide(Couleurcase.NOIR, 60, budget), new AlphaBetaBotRapide(Couleurcase.BLANC, 60, budget)};
+            for (AlphaBetaBotRapide bot : bots) bot.withTranspositionTable(new TranspositionTable(64)).withThreads(threads);
+            long nodes = 0;
+            int depths = 0;
+            long start = System.nanoTime();
+            for (Position position : positions) {
+                AlphaBetaBotRapide bot = bots[position.turn == Couleurcase.NOIR ? 0 : 1];
+                bot.getMove(position.board.copy());
+                nodes += bot.getNodes();
+                depths += bot.getCompletedDepth();
+            }
+            long elapsed = Math.max(1, System.nanoTime() - start);
+            for (AlphaBetaBotRapide bot : bots) bot.dispose();
+            double rate = nodes * 1e9 / elapsed;
+            if (threads == 1) baseRate = rate;
+            System.out.printf("%2d thread(s) %12d noeuds %8d ms %12d noeuds/s  x%.2f  profondeur moyenne %.2f%n",
+                    threads, nodes, elapsed / 1_000_000, (long) rate, rate / baseRate, (double) depths / positions.size());
+        }
+    }
+
+    /**
+     * Résout des fins de partie en mode gain / nulle / perte puis en mode score exact,
+     * sans puis avec la coupure par stabilité, et affiche pour chaque cas les noeuds,
+     * le temps total, le débit et le pire temps.
+     *
+     * @param positions Les positions de test.
+     */
+    static void runEndgame(List<Position> positions) {
+        for (boolean stability : new boolean[] {false, true}) {
+            System.out.println(stability ? "Avec coupure par stabilité :" : "Sans coupure par stabilité :");
+            runEndgame(positions, new EndgameSolver().withStabilityCutoff(stability));
+        }
+    }
+
+    /**
+     * Résout des fins de partie avec un solveur dans ses deux modes et affiche le bilan.
+     *
+     * @param positions Les positions de test.
+     * @param solver Le solveur.
+     */
+    static void runEndgame(List<Position> positions, EndgameSolver solver) {
+        for (boolean exact : new boolean[] {false, true}) {
+            long nodes = 0, elapsed = 0, worst = 0;
+            for (Position position : positions) {
+                SideToMoveBoard board = new SideToMoveBoard(position.board, position.turn);
+                solver.solve(board.player, board.opponent, exact);
+                nodes += solver.getNodes();
+                elapsed += solver.getElapsedMillis();
+                worst = Math.max(worst, solver.getElapsedMillis());
+            }
+            System.out.printf("%-28s %12d noeuds %8d ms %12d noeuds/s  pire %d ms%n",
+                    exact ? "score exact" : "gain / nulle / perte", nodes, elapsed,
+                    nodes * 1000 / Math.max(1, elapsed), worst);
+        }
+    }
+
+    /**
+     * Fait jouer deux configurations l'une contre l'autre depuis des positions de départ variées,
+     * chacune jouant une fois avec chaque couleur depuis chaque position.
+     *
+     * @param openings Les positions de départ.
+     * @param first Crée un bot de la première configuration pour une couleur.
+     * @param second Crée un bot de la seconde configuration pour une couleur.
+     * @return {gains, nulles, pertes} de la première configuration.
+     */
+    static int[] match(List<Position> openings, Function<Couleurcase, AlphaBetaBotRapide> first,
+                       Function<Couleurcase, AlphaBetaBotRapide> second) {
+        int[] results = new int[3];
+        for (Position opening : openings) {
+            for (Couleurcase firstColor : Couleurcase.values()) {
+                if (firstColor == Couleurcase.VIDE) continue;
+                AlphaBetaBotRapide a = first.apply(firstColor);
+                AlphaBetaBotRapide b = second.apply(firstColor.oppose());
+                ReversiPlateau board = opening.board.copy();
+                Couleurcase turn = opening.turn;
+                while (!board.GameOver()) {
+                    if (board.hasAnyMove(turn)) board.placePion((turn == firstColor ? a : b).getMove(board.copy()), turn);
+                    turn = turn.oppose();
+                }
+                SideToMoveBoard end = new SideToMoveBoard(board, firstColor);
+                int diff = Long.bitCount(end.player) - Long.bitCount(end.opponent);
+                results[diff > 0 ? 0 : diff == 0 ? 1 : 2]++;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Compare Multi-ProbCut à la recherche sans élagage sélectif : noeuds et temps sur les positions
+     * de test, puis parties entre les deux configurations à la même profondeur (ce que coûte
+     * l'élagage) et avec le même budget de temps par coup (ce qu'il rapporte).
+     *
+     * @param positions Les positions de test.
+     * @param depth Profondeur de recherche.
+     * @param parameters Les paramètres de ProbCut.
+     * @param games Nombre de positions de départ des parties (deux parties par position).
+     * @param budget Budget de temps par coup des parties à temps égal, en millisecondes.
+     */
+    static void runProbCut(List<Position> positions, int depth, ProbCutParameters parameters, int games, long budget) {
+        Function<Couleurcase, AlphaBetaBotRapide> plain =
+                color -> new AlphaBetaBotRapide(color, depth).withTranspositionTable(new TranspositionTable(16));
+        Function<Couleurcase, AlphaBetaBotRapide> pruned =
+                color -> plain.apply(color).withProbCut(parameters);
+        long base = run("sans ProbCut", positions, depth, plain);
+        long cut = run("Multi-ProbCut", positions, depth, pruned);
+        System.out.printf("Réduction des noeuds : x%.1f%n", (double) base / cut);
+        if (games <= 0) return;
+        List<Position> openings = positions(games, 8);
+        int[] results = match(openings, pruned, plain);
+        System.out.printf("Profondeur %d, Multi-ProbCut contre sans ProbCut : %d gains, %d nulles, %d pertes%n",
+                depth, results[0], results[1], results[2]);
+        Function<Couleurcase, AlphaBetaBotRapide> timedPlain =
+                color -> new AlphaBetaBotRapide(color, 60, budget).withTranspositionTable(new TranspositionTable(16));
+        results = match(openings, color -> timedPlain.apply(color).withProbCut(parameters), timedPlain);
+        System.out.printf("%d ms par coup, Multi-ProbCut contre sans ProbCut : %d gains, %d nulles, %d pertes%n",
+                budget, results[0], results[1], results[2]);
+    }
+
+    /**
+     * Point d'entrée : compare les configurations de recherche à profondeur fixe.
+     *
+     * @param args [profondeur] [positions] [demi-coups], ou smp [budget ms] [threads max] [positions],
+     *             ou ybw [profondeur] [threads max] [positions], ou endgame [cases vides] [positions],
+     *             ou probcut [profondeur] [fichier] [parties] [budget ms].
+     * @throws IOException Si le fichier de paramètres de ProbCut est illisible.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && args[0].equals("probcut")) {
+            int depth = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+            ProbCutParameters parameters = ProbCutParameters.load(
+                    Paths.get(args.length > 2 ? args[2] : ProbCutParameters.DEFAULT_FILE));
+            int games = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+            long budget = args.length > 4 ? Long.parseLong(args[4]) : 100;
+            List<Position> positions = positions(20, 20);
+            System.out.println("20 positions après 20 demi-coups, profondeur " + depth);
+            runProbCut(positions, depth, parameters, games, budget);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("endgame")) {
+            int empties = args.length > 1 ? Integer.parseInt(args[1]) : 18;
+            int count = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+            List<Position> positions = positions(count, 60 - empties);
+            System.out.println(count + " positions à " + empties + " cases vides environ");
+            runEndgame(positions);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("ybw")) {
+            int depth = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+            int maxThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+            int count = args.length > 3 ? Integer.parseInt(args[3]) : 20;
+            List<Position> positions = positions(count, 20);
+            System.out.println(count + " positions après 20 demi-coups, profondeur " + depth);
+            run("séquentielle", positions, depth,
+                    color -> new AlphaBetaBotRapide(color, depth).withTranspositionTable(new TranspositionTable(16)));
+            for (int threads = 1; threads <= maxThreads; threads = (threads == maxThreads) ? threads + 1 : Math.min(threads * 2, maxThreads)) {
+                int n = threads;
+                run("fork/join " + n + " thread(s)", positions, depth,
+                        color -> new AlphaBetaBotRapide(color, depth).withTranspositionTable(new TranspositionTable(16))
+                                .withForkJoin(n, 3));
+            }
+            return;
+        }
+        if (args.length > 0 && args[0].equals("smp")) {
+            long budget = args.length > 1 ? Long.parseLong(args[1]) : 500;
+            int maxThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+            int count = args.length > 3 ? Integer.parseInt(args[3]) : 20;
+            List<Position> positions = positions(count, 20);
+            System.out.println(count + " positions après 20 demi-coups, " + budget + " ms par coup");
+            runSmp(positions, budget, maxThreads);
+            return;
+        }
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int plies = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        List<Position> positions = positions(count, plies);
+        System.out.println(count + " positions après " + plies + " demi-coups, profondeur " + depth);
+
+        long base = run("sans tri", positions, depth,
+                color -> new AlphaBetaBotRapide(color, depth).withMoveOrdering(false).withPvs(false));
+        long ordered = run("tri killer/historique", positions, depth,
+                color -> new AlphaBetaBotRapide(color, depth).withPvs(false));
+        long withTable = run("tri + table (16 Mo)", positions, depth,
+                color -> new AlphaBetaBotRapide(color, depth).withPvs(false)
+                        .withTranspositionTable(new TranspositionTable(16)));
+        long pvs = run("tri + table + PVS", positions, depth,
+                color -> new AlphaBetaBotRapide(color, depth).withTranspositionTable(new TranspositionTable(16)));
+        System.out.printf("Réduction des noeuds : tri x%.1f, tri + table x%.1f, tri + table + PVS x%.1f%n",
+                (double) base / ordered, (double) base / withTable, (double) base / pvs);
+    }
+}
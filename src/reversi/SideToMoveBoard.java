@@ -0,0 +1,220 @@
+package reversi;
+
+/**
+ * Variante de FastReversiBoard normalisée selon le trait : au lieu des masques noirs et blancs,
+ * le plateau stocke les pions du joueur qui a le trait et ceux de son adversaire, et les échange
+ * à chaque coup. Les méthodes du chemin critique (génération des coups, coup joué, coup annulé)
+ * n'ont ainsi plus à tester la couleur, et une recherche peut s'écrire en negamax :
+ * le score d'une position est toujours donné du point de vue du joueur qui a le trait.
+ *
+ * La couleur n'est conservée que sous forme d'entier (0 : noirs, 1 : blancs), qui indexe
+ * les clés de Zobrist : le hash reste identique à {@link FastReversiBoard#getHash(boolean)}.
+ */
+public class SideToMoveBoard {
+
+    /** Masque binaire des pions du joueur qui a le trait. */
+    public long player;
+
+    /** Masque binaire des pions de l'adversaire. */
+    public long opponent;
+
+    /** Couleur du joueur qui a le trait : 0 pour les noirs, 1 pour les blancs. */
+    private int side;
+
+    /** Hash de Zobrist de la position, trait compris, mis à jour de manière incrémentale. */
+    private long hash;
+
+    /**
+     * Indices de motifs de l'évaluateur par motifs, mis à jour par makeMove et undoMove.
+     * Null tant que {@link #attachPatterns()} n'a pas été appelé.
+     */
+    private PatternEvaluator.Indices patterns;
+
+    /**
+     * Constructeur à partir des masques du joueur au trait et de son adversaire.
+     *
+     * @param player Masque des pions du joueur qui a le trait.
+     * @param opponent Masque des pions de l'adversaire.
+     * @param blackToMove true si le joueur au trait a les noirs.
+     */
+    public SideToMoveBoard(long player, long opponent, boolean blackToMove) {
+        this.player = player;
+        this.opponent = opponent;
+        this.side = blackToMove ? 0 : 1;
+        this.hash = blackToMove
+                ? FastReversiBoard.computeHash(player, opponent, true)
+                : FastReversiBoard.computeHash(opponent, player, false);
+    }
+
+    /**
+     * Construit le plateau normalisé d'un plateau bit à bit, pour le joueur qui a le trait.
+     *
+     * @param board Le plateau bit à bit.
+     * @param blackTurn true si les noirs ont le trait.
+     */
+    public SideToMoveBoard(FastReversiBoard board, boolean blackTurn) {
+        this(blackTurn ? board.black : board.white, blackTurn ? board.white : board.black, blackTurn);
+    }
+
+    /**
+     * Construit le plateau normalisé d'un plateau classique.
+     *
+     * @param board Le plateau classique.
+     * @param turn La couleur du joueur qui a le trait.
+     */
+    public SideToMoveBoard(ReversiPlateau board, Couleurcase turn) {
+        this(new FastReversiBoard(board), turn == Couleurcase.NOIR);
+    }
+
+    /**
+     * Crée une copie indépendante de ce plateau (indices de motifs compris).
+     *
+     * @return La copie.
+     */
+    public SideToMoveBoard copy() {
+        SideToMoveBoard copy = new SideToMoveBoard(player, opponent, side == 0);
+        if (patterns != null) copy.patterns = patterns.copy();
+        return copy;
+    }
+
+    /**
+     * Calcule les indices de motifs de la position et les attache au plateau :
+     * ils seront ensuite tenus à jour par makeMove et undoMove.
+     */
+    public void attachPatterns() {
+        patterns = PatternEvaluator.Indices.of(getBlack(), getWhite());
+    }
+
+    /**
+     * Retourne les indices de motifs attachés au plateau.
+     *
+     * @return Les indices de motifs, ou null si {@link #attachPatterns()} n'a pas été appelé.
+     */
+    public PatternEvaluator.Indices getPatterns() {
+        return patterns;
+    }
+
+    /**
+     * Indique si le joueur qui a le trait a les noirs.
+     *
+     * @return true si les noirs ont le trait.
+     */
+    public boolean isBlackToMove() {
+        return side == 0;
+    }
+
+    /**
+     * Retourne le masque des pions noirs.
+     *
+     * @return Le masque des pions noirs.
+     */
+    public long getBlack() {
+        return side == 0 ? player : opponent;
+    }
+
+    /**
+     * Retourne le masque des pions blancs.
+     *
+     * @return Le masque des pions blancs.
+     */
+    public long getWhite() {
+        return side == 0 ? opponent : player;
+    }
+
+    /**
+     * Retourne le hash de Zobrist de la position, trait compris
+     * (identique à celui de FastReversiBoard pour la même position et le même trait).
+     *
+     * @return Le hash de Zobrist sur 64 bits.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Nombre de cases vides.
+     *
+     * @return Le nombre de cases vides (0 à 60).
+     */
+    public int getEmptyCount() {
+        return 64 - Long.bitCount(player | opponent);
+    }
+
+    /**
+     * Calcule les coups valides du joueur qui a le trait.
+     *
+     * @return Masque binaire des coups valides.
+     */
+    public long getValidMoves() {
+        return FastReversiBoard.validMoves(player, opponent);
+    }
+
+    /**
+     * Calcule les coups valides de l'adversaire (comme s'il avait le trait).
+     *
+     * @return Masque binaire des coups valides de l'adversaire.
+     */
+    public long getOpponentValidMoves() {
+        return FastReversiBoard.validMoves(opponent, player);
+    }
+
+    /**
+     * Joue un coup pour le joueur qui a le trait, puis passe le trait à l'adversaire.
+     * Aucune allocation et aucun test de couleur : les deux masques sont simplement échangés.
+     * Cette forme sert quand les pions retournés sont déjà connus (tri des coups par exemple).
+     *
+     * @param square Index de la case jouée (0-63, x * 8 + y).
+     * @param flipped Masque des pions retournés, calculé par {@link FastReversiBoard#computeFlips}.
+     * @return Masque binaire des pions retournés (à passer à {@link #undoMove(int, long)}).
+     */
+    public long makeMove(int square, long flipped) {
+        long move = 1L << square;
+        long mover = player | move | flipped;
+        player = opponent & ~flipped;
+        opponent = mover;
+        hash ^= FastReversiBoard.ZOBRIST_PLACE[side][square] ^ FastReversiBoard.flipKey(flipped)
+                ^ FastReversiBoard.ZOBRIST_WHITE_TO_MOVE;
+        if (patterns != null) patterns.play(square, flipped, side == 0);
+        side ^= 1;
+        return flipped;
+    }
+
+    /**
+     * Joue un coup pour le joueur qui a le trait, en calculant les pions retournés.
+     *
+     * @param square Index de la case jouée (0-63, x * 8 + y).
+     * @return Masque binaire des pions retournés (à passer à {@link #undoMove(int, long)}).
+     */
+    public long makeMove(int square) {
+        return makeMove(square, FastReversiBoard.computeFlips(square, player, opponent));
+    }
+
+    /**
+     * Annule un coup joué avec makeMove et rend le trait au joueur qui l'avait joué.
+     *
+     * @param square Index de la case qui avait été jouée (0-63).
+     * @param flipped Masque des pions retournés, tel que renvoyé par makeMove.
+     */
+    public void undoMove(int square, long flipped) {
+        long move = 1L << square;
+        long mover = opponent & ~(move | flipped);
+        opponent = player | flipped;
+        player = mover;
+        side ^= 1;
+        hash ^= FastReversiBoard.ZOBRIST_PLACE[side][square] ^ FastReversiBoard.flipKey(flipped)
+                ^ FastReversiBoard.ZOBRIST_WHITE_TO_MOVE;
+        if (patterns != null) patterns.undo(square, flipped, side == 0);
+    }
+
+    /**
+     * Passe le tour : le trait change sans modifier les pions.
+     * Un second appel rétablit la position.
+     */
+    public void pass() {
+        long tmp = player;
+        player = opponent;
+        opponent = tmp;
+        hash ^= FastReversiBoard.ZOBRIST_WHITE_TO_MOVE;
+        side ^= 1;
+    }
+}
@@ -52,7 +52,8 @@ public class TestConfigurationDialog extends JFrame {
         bot1Combo = new JComboBox<>(new String[]{
             "Bot Aléatoire", "BFS", "DFS", "Dijkstra", 
             "Greedy BFS Bot", "A*", "AlphaBeta", "Monte Carlo", 
-            "AlphaBeta Rapide", "Dijkstra Rapide"
+            "AlphaBeta Rapide", "AlphaBeta Rapide Motifs", "AlphaBeta Rapide 1s", "AlphaBeta Rapide SMP",
+            "Dijkstra Rapide"
         });
         bot1Combo.setFocusable(false); 
         configPanel.add(bot1Combo);
@@ -62,7 +63,8 @@ public class TestConfigurationDialog extends JFrame {
         bot2Combo = new JComboBox<>(new String[]{
             "Bot Aléatoire", "BFS", "DFS", "Dijkstra", 
             "Greedy BFS Bot", "A*", "AlphaBeta", "Monte Carlo", 
-            "AlphaBeta Rapide", "Dijkstra Rapide"
+            "AlphaBeta Rapide", "AlphaBeta Rapide Motifs", "AlphaBeta Rapide 1s", "AlphaBeta Rapide SMP",
+            "Dijkstra Rapide"
         });
         bot2Combo.setSelectedItem("Bot Aléatoire");
         bot2Combo.setFocusable(false);
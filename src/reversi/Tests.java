@@ -1,7 +1,6 @@
 package reversi;
 
 import javax.swing.*;
-import java.util.List;
 
 /**
  * Classe de test pour exécuter plusieurs parties entre deux bots et afficher des statistiques.
@@ -36,6 +35,8 @@ public class Tests {
             
             // Simule la partie
             TestResultat result = simulateGameDirect(blackPlayer, whitePlayer);
+            ((BotPlayer) blackPlayer).dispose();
+            ((BotPlayer) whitePlayer).dispose();
             
             long endTime = System.currentTimeMillis();
             long gameDuration = endTime - startTime;
@@ -95,9 +96,7 @@ public class Tests {
                 break;
             }
             
-            List<Move> validMoves = board.getValidMoves(currentTurn);
-            
-            if (validMoves.isEmpty()) {
+            if (!board.hasAnyMove(currentTurn)) {
                 consecutivePasses++;
                 currentTurn = currentTurn.oppose();
                 
@@ -112,9 +111,9 @@ public class Tests {
             // Obtient le coup du bot
             Move chosenMove = null;
             if (currentTurn == Couleurcase.NOIR) {
-                chosenMove = ((BotPlayer) blackPlayer).getMove(board.copy());
+                chosenMove = ((BotPlayer) blackPlayer).chooseMove(board.copy());
             } else {
-                chosenMove = ((BotPlayer) whitePlayer).getMove(board.copy());
+                chosenMove = ((BotPlayer) whitePlayer).chooseMove(board.copy());
             }
             
             // Applique le coup
@@ -144,12 +143,14 @@ public class Tests {
     
     /**
      * Crée une instance de bot basée sur le type de bot (chaîne).
+     * Sert aussi à PlayerSelectionDialog : les parties jouées dans l'interface et les tests
+     * opposent ainsi exactement les mêmes bots (livre d'ouvertures compris).
      *
      * @param color Couleur du bot (NOIR ou BLANC)
      * @param botType Type de bot (chaîne identifiant l'algorithme)
-     * @return Instance de Player correspondant au bot demandé
+     * @return Instance de BotPlayer correspondant au bot demandé
      */
-    private static Player createBot(Couleurcase color, String botType) {
+    static BotPlayer createBot(Couleurcase color, String botType) {
         switch (botType) {
             case "Bot Aléatoire": return new RandomBot(color);
             case "BFS": return new BFSBot(color);
@@ -159,7 +160,17 @@ public class Tests {
             case "A*": return new AstarBot(color);
             case "AlphaBeta": return new AlphaBetaBot(color, 8);
             case "Monte Carlo": return new MonteCarloBot(color);
-            case "AlphaBeta Rapide": return new AlphaBetaBotRapide(color, 8);
+            case "AlphaBeta Rapide": return new AlphaBetaBotRapide(color, 8)
+                    .withOpeningBook(OpeningBook.getInstance());
+            case "AlphaBeta Rapide Motifs": return new AlphaBetaBotRapide(color, 8, PatternEvaluator.getInstance())
+                    .withOpeningBook(OpeningBook.getInstance());
+            case "AlphaBeta Rapide 1s": return new AlphaBetaBotRapide(color, 60, 1000)
+                    .withTranspositionTable(new TranspositionTable(16))
+                    .withOpeningBook(OpeningBook.getInstance());
+            case "AlphaBeta Rapide SMP": return new AlphaBetaBotRapide(color, 60, 1000)
+                    .withTranspositionTable(new TranspositionTable(64))
+                    .withThreads(Runtime.getRuntime().availableProcessors())
+                    .withOpeningBook(OpeningBook.getInstance());
             case "Dijkstra Rapide": return new DijkstraBotRapide(color);
             default: return new RandomBot(color);
         }
@@ -192,6 +203,9 @@ public class Tests {
             case "AlphaBeta": return "AlphaBeta";
             case "Monte Carlo": return "Monte Carlo";
             case "AlphaBeta Rapide": return "AlphaBeta Rapide";
+            case "AlphaBeta Rapide Motifs": return "AlphaBeta Rapide Motifs";
+            case "AlphaBeta Rapide 1s": return "AlphaBeta Rapide 1s";
+            case "AlphaBeta Rapide SMP": return "AlphaBeta Rapide SMP";
             case "Dijkstra Rapide": return "Dijkstra Bot Rapide";
             default: return className; // Retourne le nom tel quel si non reconnu
         }
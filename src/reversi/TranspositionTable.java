@@ -0,0 +1,255 @@
+package reversi;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Table de transposition de taille fixe pour la recherche alpha-beta, indexée par le hash
+ * de Zobrist des positions (voir {@link SideToMoveBoard#getHash()}).
+ *
+ * Chaque entrée occupe deux long dans un unique tableau primitif : la clé de vérification
+ * (hash XOR données) puis les données compactées (score, profondeur, type de borne, meilleur coup,
+ * génération). Une entrée n'est acceptée que si clé XOR données redonne le hash cherché :
+ * une entrée à moitié écrite par un autre thread est ainsi rejetée au lieu d'être mal lue
+ * (technique "lockless XOR"). La table peut donc être partagée par plusieurs threads de recherche
+ * sans verrou.
+ *
+ * Les entrées sont groupées par seaux de deux : la première place conserve l'entrée la plus
+ * profonde (remplacée seulement par une recherche au moins aussi profonde, ou si elle date
+ * d'une recherche précédente), la seconde est toujours remplacée.
+ */
+public class TranspositionTable {
+
+    /** Type de borne : le score est exact. */
+    public static final int EXACT = 1;
+
+    /** Type de borne : le score est une borne inférieure (coupure beta). */
+    public static final int LOWER = 2;
+
+    /** Type de borne : le score est une borne supérieure (aucun coup n'a dépassé alpha). */
+    public static final int UPPER = 3;
+
+    /** Valeur du champ coup quand aucun meilleur coup n'est connu. */
+    public static final int NO_MOVE = 64;
+
+    /** Nombre de long par seau : deux entrées de deux long. */
+    private static final int BUCKET_LONGS = 4;
+
+    /** Masques des champs de 6 bits (génération), 7 bits (coup) et 8 bits (profondeur). */
+    private static final long MASK6 = 0x3FL, MASK7 = 0x7FL, MASK8 = 0xFFL;
+
+    /** Entrées : seaux de [clé 0, données 0, clé 1, données 1]. */
+    private final long[] table;
+
+    /** Masque appliqué au hash pour obtenir l'index du seau (nombre de seaux puissance de 2). */
+    private final long bucketMask;
+
+    /** Génération de la recherche en cours, incrémentée par {@link #newSearch()}. */
+    private volatile int generation;
+
+    /**
+     * Statistiques. Des compteurs {@link LongAdder} plutôt que des long partagés : chaque thread
+     * incrémente sa propre cellule, sans que tous les threads écrivent la même ligne de cache
+     * à chaque consultation.
+     */
+    private final LongAdder probes = new LongAdder(), hits = new LongAdder(),
+            cutoffs = new LongAdder(), collisions = new LongAdder();
+
+    /**
+     * Crée une table d'une taille donnée en mégaoctets, arrondie à la puissance de 2 inférieure.
+     *
+     * @param megabytes Taille de la table en Mo (au moins 1).
+     */
+    public TranspositionTable(int megabytes) {
+        long bytes = Math.max(1, megabytes) * 1024L * 1024L;
+        long buckets = Long.highestOneBit(bytes / (BUCKET_LONGS * Long.BYTES));
+        buckets = Math.min(buckets, Integer.highestOneBit(Integer.MAX_VALUE / BUCKET_LONGS));
+        this.table = new long[(int) buckets * BUCKET_LONGS];
+        this.bucketMask = buckets - 1;
+    }
+
+    /**
+     * Signale le début d'une nouvelle recherche (un nouveau coup à jouer) : les entrées
+     * des recherches précédentes deviennent remplaçables en priorité.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & (int) MASK6;
+    }
+
+    /** Vide la table et remet les statistiques à zéro. */
+    public void clear() {
+        Arrays.fill(table, 0L);
+        probes.reset();
+        hits.reset();
+        cutoffs.reset();
+        collisions.reset();
+    }
+
+    /**
+     * Cherche une position dans la table.
+     *
+     * @param hash Hash de Zobrist de la position.
+     * @return Les données compactées de l'entrée (à lire avec {@link #score(long)}, {@link #depth(long)},
+     *         {@link #bound(long)} et {@link #move(long)}), ou 0 si la position est absente.
+     */
+    public long probe(long hash) {
+        probes.increment();
+        int base = (int) (hash & bucketMask) * BUCKET_LONGS;
+        for (int slot = base; slot < base + BUCKET_LONGS; slot += 2) {
+            long data = table[slot + 1];
+            if ((table[slot] ^ data) == hash && data != 0) {
+                hits.increment();
+                return data;
+            }
+        }
+        if (table[base + 1] != 0 || table[base + 3] != 0) collisions.increment(); // Seau occupé par d'autres positions
+        return 0L;
+    }
+
+    /**
+     * Enregistre le résultat de la recherche d'une position.
+     *
+     * @param hash Hash de Zobrist de la position.
+     * @param depth Profondeur de la recherche (0 à 255).
+     * @param bound Type de borne ({@link #EXACT}, {@link #LOWER} ou {@link #UPPER}).
+     * @param score Score de la position, du point de vue du joueur qui a le trait.
+     * @param move Meilleur coup trouvé (0-63), ou {@link #NO_MOVE}.
+     */
+    public void store(long hash, int depth, int bound, int score, int move) {
+        long data = (score & 0xFFFFFFFFL)
+                | (depth & MASK8) << 32
+                | (long) bound << 40
+                | (move & MASK7) << 42
+                | (long) generation << 49;
+        int base = (int) (hash & bucketMask) * BUCKET_LONGS;
+
+        // Première place : entrée la plus profonde, sauf si elle est périmée ou concerne la même position
+        long deepData = table[base + 1];
+        boolean samePosition = (table[base] ^ deepData) == hash;
+        if (deepData == 0 || samePosition || depth >= depth(deepData) || generation(deepData) != generation) {
+            if (deepData != 0 && !samePosition) {
+                // L'ancienne entrée profonde descend dans la place toujours remplacée
+                table[base + 2] = table[base];
+                table[base + 3] = deepData;
+            }
+            table[base] = hash ^ data;
+            table[base + 1] = data;
+        } else {
+            table[base + 2] = hash ^ data;
+            table[base + 3] = data;
+        }
+    }
+
+    /**
+     * Signale qu'une entrée lue dans la table a permis de couper la recherche (statistique).
+     */
+    public void countCutoff() {
+        cutoffs.increment();
+    }
+
+    /**
+     * Score d'une entrée.
+     *
+     * @param data Données compactées (résultat de {@link #probe(long)}).
+     * @return Le score.
+     */
+    public static int score(long data) {
+        return (int) data;
+    }
+
+    /**
+     * Profondeur de recherche d'une entrée.
+     *
+     * @param data Données compactées.
+     * @return La profondeur.
+     */
+    public static int depth(long data) {
+        return (int) ((data >>> 32) & MASK8);
+    }
+
+    /**
+     * Type de borne d'une entrée.
+     *
+     * @param data Données compactées.
+     * @return {@link #EXACT}, {@link #LOWER} ou {@link #UPPER}.
+     */
+    public static int bound(long data) {
+        return (int) ((data >>> 40) & 3);
+    }
+
+    /**
+     * Meilleur coup d'une entrée.
+     *
+     * @param data Données compactées.
+     * @return L'index du coup (0-63), ou {@link #NO_MOVE}.
+     */
+    public static int move(long data) {
+        return (int) ((data >>> 42) & MASK7);
+    }
+
+    /**
+     * Génération (recherche) qui a écrit une entrée.
+     *
+     * @param data Données compactées.
+     * @return La génération (0-63).
+     */
+    private static int generation(long data) {
+        return (int) ((data >>> 49) & MASK6);
+    }
+
+    /**
+     * Retourne la taille de la table.
+     *
+     * @return Le nombre d'entrées (deux par seau).
+     */
+    public int getCapacity() {
+        return table.length / 2;
+    }
+
+    /**
+     * Retourne le nombre de consultations de la table.
+     *
+     * @return Le nombre d'appels à {@link #probe(long)}.
+     */
+    public long getProbes() {
+        return probes.sum();
+    }
+
+    /**
+     * Retourne le nombre de consultations qui ont trouvé la position.
+     *
+     * @return Le nombre de succès.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Retourne le nombre de coupures obtenues directement grâce à la table.
+     *
+     * @return Le nombre de coupures.
+     */
+    public long getCutoffs() {
+        return cutoffs.sum();
+    }
+
+    /**
+     * Retourne le nombre de consultations infructueuses dont le seau contenait d'autres positions.
+     *
+     * @return Le nombre de collisions d'index.
+     */
+    public long getCollisions() {
+        return collisions.sum();
+    }
+
+    /**
+     * Résumé des statistiques de la table.
+     *
+     * @return Une ligne de texte.
+     */
+    @Override
+    public String toString() {
+        return "TT " + getCapacity() + " entrées : " + getProbes() + " consultations, " + getHits() + " succès, "
+                + getCutoffs() + " coupures, " + getCollisions() + " collisions";
+    }
+}